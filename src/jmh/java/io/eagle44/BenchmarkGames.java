@@ -0,0 +1,49 @@
+package io.eagle44;
+
+/**
+ * Deterministic home/away pairs for populating scoreboards in benchmarks. At most
+ * {@code size * (size - 1)} distinct games exist, as a country cannot play itself.
+ */
+final class BenchmarkGames {
+    static final int MAX_LIVE_GAMES = AcceptedCountries.size() * (AcceptedCountries.size() - 1);
+
+    private final Country[] homeTeams;
+    private final Country[] awayTeams;
+
+    BenchmarkGames(int count) {
+        if (count > MAX_LIVE_GAMES) {
+            throw new IllegalArgumentException("At most " + MAX_LIVE_GAMES + " games can be live at once");
+        }
+        homeTeams = new Country[count];
+        awayTeams = new Country[count];
+        int game = 0;
+        for (int home = 0; home < AcceptedCountries.size() && game < count; home++) {
+            for (int away = 0; away < AcceptedCountries.size() && game < count; away++) {
+                if (home != away) {
+                    homeTeams[game] = Country.ofOrdinal(home);
+                    awayTeams[game] = Country.ofOrdinal(away);
+                    game++;
+                }
+            }
+        }
+    }
+
+    int size() {
+        return homeTeams.length;
+    }
+
+    Country homeTeam(int game) {
+        return homeTeams[game];
+    }
+
+    Country awayTeam(int game) {
+        return awayTeams[game];
+    }
+
+    void startAll(Scoreboard scoreboard) {
+        for (int game = 0; game < size(); game++) {
+            scoreboard.startGame(homeTeams[game], awayTeams[game]);
+            scoreboard.updateScore(homeTeams[game], awayTeams[game], game % 7, game % 5);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package io.eagle44;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning one console line into a command: the regex split with {@link Command#create} against
+ * {@link CommandTokenizer}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandParsingBenchmark {
+    private static final String UPDATE_LINE = "update Spain France 2 1";
+
+    private final CommandTokenizer tokenizer = new CommandTokenizer();
+    private final MutableCommand command = new MutableCommand();
+
+    @Benchmark
+    public Command splitAndCreate() {
+        String[] parts = UPDATE_LINE.split("\\s+");
+        String[] args = new String[parts.length - 1];
+        System.arraycopy(parts, 1, args, 0, args.length);
+        return Command.create(parts[0].toLowerCase(), args);
+    }
+
+    @Benchmark
+    public MutableCommand tokenize() {
+        tokenizer.parse(UPDATE_LINE, command);
+        return command;
+    }
+}
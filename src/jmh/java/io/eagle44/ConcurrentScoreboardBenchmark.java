@@ -0,0 +1,102 @@
+package io.eagle44;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Multi-threaded throughput of {@link ConcurrentScoreboard}: writers on disjoint matches, and
+ * summary readers running next to writers.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentScoreboardBenchmark {
+    @Param({"1000", "37830"})
+    private int liveGames;
+
+    private ConcurrentScoreboard scoreboard;
+    private BenchmarkGames games;
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        scoreboard = new ConcurrentScoreboard();
+        games = new BenchmarkGames(liveGames);
+        games.startAll(scoreboard);
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        private int nextGame;
+        private int stride;
+        private int score;
+
+        @Setup
+        public void setUp(ConcurrentScoreboardBenchmark benchmark) {
+            // Threads start at different games and step over each other's matches
+            int thread = benchmark.threadCount.getAndIncrement();
+            stride = 8;
+            nextGame = thread % stride;
+        }
+
+        void update(ConcurrentScoreboardBenchmark benchmark) {
+            int game = nextGame;
+            nextGame = game + stride < benchmark.liveGames ? game + stride : game % stride;
+            score = (score + 1) & 0xFF;
+            benchmark.scoreboard.updateScore(benchmark.games.homeTeam(game), benchmark.games.awayTeam(game), score, 0);
+        }
+    }
+
+    @Benchmark
+    @Group("updatesOnly")
+    @GroupThreads(4)
+    public void updatesOnly(Writer writer) {
+        writer.update(this);
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(1)
+    public void readMostlyWriter(Writer writer) {
+        writer.update(this);
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(3)
+    public List<Game> readMostlyReader() {
+        return scoreboard.getGameSummary();
+    }
+
+    @Benchmark
+    @Group("writeMostly")
+    @GroupThreads(3)
+    public void writeMostlyWriter(Writer writer) {
+        writer.update(this);
+    }
+
+    @Benchmark
+    @Group("writeMostly")
+    @GroupThreads(1)
+    public List<Game> writeMostlyReader() {
+        return scoreboard.getGameSummary();
+    }
+}
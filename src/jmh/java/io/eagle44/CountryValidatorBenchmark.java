@@ -0,0 +1,61 @@
+package io.eagle44;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CountryValidatorBenchmark {
+    private static final int INPUTS = 1024;
+
+    @Param({"SORTED_SET", "PERFECT_HASH"})
+    private CountryValidator.Mode mode;
+
+    private CountryValidator validator;
+    private String[] inputs;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        validator = new CountryValidator(mode);
+        // Mix of what the console sees: exact, differently cased, padded and unknown names
+        List<String> names = new ArrayList<>();
+        Random random = new Random(44);
+        List<String> countries = AcceptedCountries.getAllCountries();
+        while (names.size() < INPUTS) {
+            String country = countries.get(random.nextInt(countries.size()));
+            names.add(switch (random.nextInt(4)) {
+                case 0 -> country;
+                case 1 -> country.toUpperCase();
+                case 2 -> " " + country + " ";
+                default -> country + "land";
+            });
+        }
+        Collections.shuffle(names, random);
+        inputs = names.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return validator.isValid(inputs[next++ & (INPUTS - 1)]);
+    }
+}
@@ -0,0 +1,139 @@
+package io.eagle44;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a JMH CSV result file against the stored baseline and exits with status 1 when a
+ * benchmark got slower, or allocates more, than the allowed tolerance. A change also has to be
+ * larger than the score errors JMH reported for both runs together, so noisy benchmarks are only
+ * reported once their confidence intervals no longer overlap.
+ * <p>
+ * Usage: {@code JmhBaselineCheck <baseline.csv> <results.csv> [tolerancePercent]}
+ */
+public final class JmhBaselineCheck {
+    private static final double DEFAULT_TOLERANCE_PERCENT = 10;
+
+    private JmhBaselineCheck() {
+        // Prevent instantiation
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: JmhBaselineCheck <baseline.csv> <results.csv> [tolerancePercent]");
+            System.exit(2);
+        }
+        Path baselineFile = Path.of(args[0]);
+        if (!Files.exists(baselineFile)) {
+            System.err.println("No baseline at " + baselineFile + "; record one with ./gradlew jmh jmhBaseline");
+            System.exit(2);
+        }
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_TOLERANCE_PERCENT;
+        Map<String, Row> baseline = read(baselineFile);
+        Map<String, Row> results = read(Path.of(args[1]));
+
+        List<String> regressions = new ArrayList<>();
+        results.forEach((key, result) -> {
+            Row reference = baseline.get(key);
+            if (reference == null || reference.score == 0) {
+                return;
+            }
+            double change = (result.score - reference.score) / reference.score * 100;
+            // Throughput should not drop; times and allocation rates should not grow
+            double worse = result.higherIsBetter() ? -change : change;
+            boolean beyondError = Math.abs(result.score - reference.score) > reference.error + result.error;
+            String line = String.format("%-90s %12.3f ± %.3f -> %12.3f ± %.3f %s (%+.1f%%)",
+                key, reference.score, reference.error, result.score, result.error, result.unit, change);
+            System.out.println(line);
+            if (worse > tolerance && beyondError) {
+                regressions.add(line);
+            }
+        });
+
+        if (!regressions.isEmpty()) {
+            System.err.println("Regressions beyond " + tolerance + "%:");
+            regressions.forEach(System.err::println);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Row> read(Path file) throws IOException {
+        Map<String, Row> rows = new LinkedHashMap<>();
+        List<String> lines = Files.readAllLines(file);
+        if (lines.isEmpty()) {
+            return rows;
+        }
+        List<String> header = parseCsvLine(lines.getFirst());
+        int benchmarkColumn = header.indexOf("Benchmark");
+        int modeColumn = header.indexOf("Mode");
+        int threadsColumn = header.indexOf("Threads");
+        int scoreColumn = header.indexOf("Score");
+        int errorColumn = header.indexOf("Score Error (99.9%)");
+        int unitColumn = header.indexOf("Unit");
+        for (String line : lines.subList(1, lines.size())) {
+            List<String> cells = parseCsvLine(line);
+            String benchmark = cells.get(benchmarkColumn);
+            // Of the profiler metrics only the normalised allocation rate is stable enough to compare
+            if (benchmark.contains(":") && !benchmark.endsWith("gc.alloc.rate.norm")) {
+                continue;
+            }
+            StringBuilder key = new StringBuilder(benchmark)
+                .append(" [").append(cells.get(modeColumn)).append(", ").append(cells.get(threadsColumn)).append(" threads");
+            for (int column = 0; column < header.size(); column++) {
+                if (header.get(column).startsWith("Param: ") && !cells.get(column).isEmpty()) {
+                    key.append(", ").append(header.get(column).substring(7)).append('=').append(cells.get(column));
+                }
+            }
+            key.append(']');
+            rows.put(key.toString(), new Row(Double.parseDouble(cells.get(scoreColumn)),
+                errorColumn >= 0 ? parseError(cells.get(errorColumn)) : 0, cells.get(unitColumn)));
+        }
+        return rows;
+    }
+
+    // NaN when JMH had too few samples to estimate the error
+    private static double parseError(String cell) {
+        double error = cell.isEmpty() ? Double.NaN : Double.parseDouble(cell);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static List<String> parseCsvLine(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    private static final class Row {
+        private final double score;
+        private final double error;
+        private final String unit;
+
+        private Row(double score, double error, String unit) {
+            this.score = score;
+            this.error = error;
+            this.unit = unit;
+        }
+
+        boolean higherIsBetter() {
+            return unit.startsWith("ops/");
+        }
+    }
+}
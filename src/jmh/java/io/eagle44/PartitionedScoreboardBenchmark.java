@@ -0,0 +1,76 @@
+package io.eagle44;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Update throughput of {@link PartitionedScoreboard} as partitions are added, with eight writers on
+ * disjoint matches. Compare with {@link ConcurrentScoreboardBenchmark#updatesOnly}; the scaling
+ * only shows on a machine with at least as many cores as partitions plus writers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartitionedScoreboardBenchmark {
+    private static final int WRITERS = 8;
+
+    @Param({"1", "2", "4", "8"})
+    private int partitions;
+
+    @Param({"1000", "37830"})
+    private int liveGames;
+
+    private PartitionedScoreboard scoreboard;
+    private BenchmarkGames games;
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        scoreboard = new PartitionedScoreboard(partitions);
+        games = new BenchmarkGames(liveGames);
+        games.startAll(scoreboard);
+    }
+
+    @TearDown
+    public void tearDown() {
+        scoreboard.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        private int nextGame;
+        private int score;
+
+        @Setup
+        public void setUp(PartitionedScoreboardBenchmark benchmark) {
+            // Threads start at different games and step over each other's matches
+            nextGame = benchmark.threadCount.getAndIncrement() % WRITERS;
+        }
+    }
+
+    @Benchmark
+    @Threads(WRITERS)
+    public void updatesOnly(Writer writer) {
+        int game = writer.nextGame;
+        writer.nextGame = game + WRITERS < liveGames ? game + WRITERS : game % WRITERS;
+        writer.score = (writer.score + 1) & 0xFF;
+        scoreboard.updateScore(games.homeTeam(game), games.awayTeam(game), writer.score, 0);
+    }
+}
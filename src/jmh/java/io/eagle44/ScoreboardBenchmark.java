@@ -0,0 +1,113 @@
+package io.eagle44;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded cost of the scoreboard operations as the number of live games grows.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreboardBenchmark {
+    @Param({"in-memory", "concurrent", "array"})
+    private String implementation;
+
+    @Param({"10", "1000", "10000", "37830"})
+    private int liveGames;
+
+    private Scoreboard scoreboard;
+    private BenchmarkGames games;
+    private SplittableRandom random;
+    private int nextGame;
+    private int nextScore;
+
+    @Setup
+    public void setUp() {
+        scoreboard = switch (implementation) {
+            case "in-memory" -> new InMemoryScoreboard();
+            case "concurrent" -> new ConcurrentScoreboard();
+            case "array" -> new ArrayScoreboard();
+            default -> throw new IllegalArgumentException("Unknown implementation: " + implementation);
+        };
+        games = new BenchmarkGames(liveGames);
+        games.startAll(scoreboard);
+        random = new SplittableRandom(44);
+    }
+
+    @Benchmark
+    public List<Game> summaryUnchanged() {
+        return scoreboard.getGameSummary();
+    }
+
+    @Benchmark
+    public List<Game> summaryAfterUpdate() {
+        update();
+        return scoreboard.getGameSummary();
+    }
+
+    @Benchmark
+    public List<Game> topTen() {
+        return scoreboard.getTopN(10);
+    }
+
+    @Benchmark
+    public void updateScore() {
+        update();
+    }
+
+    @Benchmark
+    public Game finishAndRestart() {
+        int game = nextGame();
+        scoreboard.finishGame(games.homeTeam(game), games.awayTeam(game));
+        return scoreboard.startGame(games.homeTeam(game), games.awayTeam(game));
+    }
+
+    @Benchmark
+    public Object mixedReadWrite(ReadWriteMix mix) {
+        if (random.nextInt(100) < mix.writePercent) {
+            update();
+            return null;
+        }
+        return scoreboard.getGameSummary();
+    }
+
+    private void update() {
+        int game = nextGame();
+        int score = nextScore++ & 0xFF;
+        scoreboard.updateScore(games.homeTeam(game), games.awayTeam(game), score, score >> 1);
+    }
+
+    private int nextGame() {
+        int game = nextGame;
+        nextGame = game + 1 == liveGames ? 0 : game + 1;
+        return game;
+    }
+
+    /**
+     * Only used by {@link #mixedReadWrite}, so the other benchmarks run once per scoreboard rather
+     * than once per mix.
+     */
+    @State(Scope.Thread)
+    public static class ReadWriteMix {
+        // Percentage of operations that are score updates; the rest read the summary
+        @Param({"1", "10", "50"})
+        private int writePercent;
+    }
+}
@@ -36,6 +36,16 @@ public final class AcceptedCountries {
         ));
     }
 
+    // Same order as COUNTRIES; the position of a name is its index
+    private static final String[] NAMES = COUNTRIES.toArray(new String[0]);
+    private static final int MAX_NAME_LENGTH =
+        COUNTRIES.stream().mapToInt(String::length).max().orElse(0);
+
+    // Collision-free table over the case-folded names: slot -> index + 1, 0 marks a free slot
+    private static final int TABLE_SIZE = 4096;
+    private static final int SEED = findCollisionFreeSeed();
+    private static final short[] TABLE = buildTable(SEED);
+
     private AcceptedCountries() {
         // Prevent instantiation
     }
@@ -51,4 +61,89 @@ public final class AcceptedCountries {
     public static int size() {
         return COUNTRIES.size();
     }
-} 
\ No newline at end of file
+
+    /**
+     * Position of the name in the alphabetical list of accepted countries, or -1 if the name is not
+     * accepted. Case and surrounding whitespace are ignored without creating a new string.
+     */
+    public static int indexOf(CharSequence countryName) {
+        return indexOf(countryName, 0, countryName.length());
+    }
+
+    /**
+     * Same as {@link #indexOf(CharSequence)} for the characters between {@code start} (inclusive)
+     * and {@code end} (exclusive).
+     */
+    static int indexOf(CharSequence text, int start, int end) {
+        while (start < end && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        int candidate = TABLE[hash(SEED, text, start, end) & (TABLE_SIZE - 1)] - 1;
+        if (candidate < 0 || !equalsIgnoreCase(NAMES[candidate], text, start, end)) {
+            return -1;
+        }
+        return candidate;
+    }
+
+    static String nameAt(int index) {
+        return NAMES[index];
+    }
+
+    /**
+     * Length of the longest accepted name.
+     */
+    static int maxNameLength() {
+        return MAX_NAME_LENGTH;
+    }
+
+    private static boolean equalsIgnoreCase(String name, CharSequence other, int start, int end) {
+        if (name.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (fold(name.charAt(i)) != fold(other.charAt(start + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a over case-folded characters
+    private static int hash(int seed, CharSequence name, int start, int end) {
+        int hash = seed;
+        for (int i = start; i < end; i++) {
+            hash = (hash ^ fold(name.charAt(i))) * 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static char fold(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static int findCollisionFreeSeed() {
+        for (int seed = 0x811C9DC5; ; seed++) {
+            if (buildTable(seed) != null) {
+                return seed;
+            }
+        }
+    }
+
+    private static short[] buildTable(int seed) {
+        short[] table = new short[TABLE_SIZE];
+        for (int index = 0; index < NAMES.length; index++) {
+            int slot = hash(seed, NAMES[index], 0, NAMES[index].length()) & (TABLE_SIZE - 1);
+            if (table[slot] != 0) {
+                return null;
+            }
+            table[slot] = (short) (index + 1);
+        }
+        return table;
+    }
+}
@@ -0,0 +1,322 @@
+package io.eagle44;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Single-threaded scoreboard that keeps live games column by column in primitive arrays instead
+ * of as {@link Game} objects: team ordinals, scores, start time and sequence per slot, an
+ * open-addressing index from {@link GameKeys game key} to slot, and the slots in summary order.
+ * That is 38 bytes per live game plus spare capacity, about 60 in all, against about 160 for a
+ * game held by {@link InMemoryScoreboard}.
+ * <p>
+ * Score updates change the columns in place and move the slot within the ranking with
+ * {@link System#arraycopy}, so they allocate nothing. {@link Game} objects are only built for
+ * callers: the started game, summaries, and the events and archive entries of subscribers and
+ * archives.
+ */
+public final class ArrayScoreboard implements Scoreboard {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int FREE = -1;
+
+    // Columns, indexed by slot; allocated with the first game
+    private byte[] homeTeams;
+    private byte[] awayTeams;
+    private int[] homeScores;
+    private int[] awayScores;
+    private long[] startTimes;
+    private long[] sequences;
+    // Slots of finished games, reused before new ones
+    private int[] freeSlots;
+    private int freeSlotCount;
+    private int usedSlotCount;
+    // Open addressing by game key; the key of an entry is read from the columns of its slot
+    private int[] index;
+    // Live slots in summary order
+    private int[] ranking;
+    private int size;
+    private final GameArchive archive;
+    private long version;
+    private ScoreboardSnapshot snapshot = ScoreboardSnapshot.EMPTY;
+    private ScoreboardEventPublisher publisher;
+
+    public ArrayScoreboard() {
+        this(null);
+    }
+
+    /**
+     * Scoreboard that keeps the results of finished games in {@code archive}.
+     */
+    public ArrayScoreboard(GameArchive archive) {
+        this.archive = archive;
+    }
+
+    @Override
+    public Game startGame(Country homeTeam, Country awayTeam) {
+        return start(homeTeam, awayTeam, 0, 0, System.currentTimeMillis(), Game.nextSequence());
+    }
+
+    /**
+     * Starts {@code game} as it was restored from a snapshot, score and start time included.
+     */
+    void restoreGame(Game game) {
+        start(game.getHomeTeam(), game.getAwayTeam(), game.getHomeScore(), game.getAwayScore(),
+            game.getStartEpochMillis(), game.getSequence());
+    }
+
+    private Game start(Country homeTeam, Country awayTeam, int homeScore, int awayScore, long startEpochMillis,
+                       long sequence) {
+        int gameKey = GameKeys.of(homeTeam, awayTeam);
+        if (slotOf(gameKey) != FREE) {
+            throw new IllegalArgumentException("Game already exists");
+        }
+        if (homeTeam.equals(awayTeam)) {
+            throw new IllegalArgumentException("Home and away teams cannot be the same");
+        }
+        ensureCapacity();
+        int slot = freeSlotCount > 0 ? freeSlots[--freeSlotCount] : usedSlotCount++;
+        // Fewer than 256 accepted countries, so an ordinal always fits one unsigned byte
+        homeTeams[slot] = (byte) homeTeam.getOrdinal();
+        awayTeams[slot] = (byte) awayTeam.getOrdinal();
+        homeScores[slot] = homeScore;
+        awayScores[slot] = awayScore;
+        startTimes[slot] = startEpochMillis;
+        sequences[slot] = sequence;
+        addToIndex(gameKey, slot);
+        int position = lowerBound(0, size, homeScore + awayScore, sequence);
+        System.arraycopy(ranking, position, ranking, position + 1, size - position);
+        ranking[position] = slot;
+        size++;
+        version++;
+        Game game = gameAt(slot);
+        if (isPublishing()) {
+            publisher.publish(ScoreboardEvent.Type.GAME_STARTED, game, ScoreboardEvent.NO_RANK, position + 1);
+        }
+        return game;
+    }
+
+    @Override
+    public void updateScore(Country homeTeam, Country awayTeam, int homeScore, int awayScore) {
+        int slot = slotOf(GameKeys.of(homeTeam, awayTeam));
+        if (slot == FREE) {
+            throw new IllegalArgumentException("Game not found");
+        }
+        if (homeScore < 0 || awayScore < 0) {
+            throw new IllegalArgumentException("Scores cannot be negative");
+        }
+        int from = positionOf(slot);
+        int oldTotal = homeScores[slot] + awayScores[slot];
+        int newTotal = homeScore + awayScore;
+        homeScores[slot] = homeScore;
+        awayScores[slot] = awayScore;
+        // Only games between the old and the new position shift by one
+        int to = from;
+        if (newTotal > oldTotal) {
+            to = lowerBound(0, from, newTotal, sequences[slot]);
+            System.arraycopy(ranking, to, ranking, to + 1, from - to);
+        } else if (newTotal < oldTotal) {
+            to = lowerBound(from + 1, size, newTotal, sequences[slot]) - 1;
+            System.arraycopy(ranking, from + 1, ranking, from, to - from);
+        }
+        ranking[to] = slot;
+        version++;
+        if (isPublishing()) {
+            publisher.publish(ScoreboardEvent.Type.SCORE_CHANGED, gameAt(slot), from + 1, to + 1);
+        }
+    }
+
+    @Override
+    public void finishGame(Country homeTeam, Country awayTeam) {
+        int gameKey = GameKeys.of(homeTeam, awayTeam);
+        int slot = slotOf(gameKey);
+        if (slot == FREE) {
+            throw new IllegalArgumentException("Game not found");
+        }
+        int position = positionOf(slot);
+        boolean publishing = isPublishing();
+        Game finishedGame = publishing || archive != null ? gameAt(slot) : null;
+        System.arraycopy(ranking, position + 1, ranking, position, size - position - 1);
+        size--;
+        removeFromIndex(gameKey);
+        freeSlots[freeSlotCount++] = slot;
+        version++;
+        if (publishing) {
+            publisher.publish(ScoreboardEvent.Type.GAME_FINISHED, finishedGame, position + 1, ScoreboardEvent.NO_RANK);
+        }
+        if (archive != null) {
+            archive.add(finishedGame, System.currentTimeMillis());
+        }
+    }
+
+    @Override
+    public boolean hasGame(Country homeTeam, Country awayTeam) {
+        return slotOf(GameKeys.of(homeTeam, awayTeam)) != FREE;
+    }
+
+    @Override
+    public List<CommandResult> applyBatch(List<Command> commands) {
+        CommandBatch batch = CommandBatch.plan(commands, gameKey -> slotOf(gameKey) != FREE);
+        // Nothing can read in between, and the snapshot is only rebuilt on the next read
+        batch.applyTo(this);
+        return batch.getResults();
+    }
+
+    @Override
+    public ScoreboardSnapshot getSnapshot() {
+        if (snapshot.getVersion() != version) {
+            snapshot = new ScoreboardSnapshot(version, List.copyOf(topGames(size)));
+        }
+        return snapshot;
+    }
+
+    @Override
+    public List<Game> getTopN(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Number of games cannot be negative");
+        }
+        return topGames(Math.min(n, size));
+    }
+
+    @Override
+    public int getGameCount() {
+        return size;
+    }
+
+    @Override
+    public ScoreboardEventPublisher events() {
+        if (publisher == null) {
+            publisher = new ScoreboardEventPublisher();
+        }
+        return publisher;
+    }
+
+    private boolean isPublishing() {
+        return publisher != null && publisher.hasSubscribers();
+    }
+
+    private List<Game> topGames(int count) {
+        List<Game> games = new ArrayList<>(count);
+        for (int position = 0; position < count; position++) {
+            games.add(gameAt(ranking[position]));
+        }
+        return games;
+    }
+
+    private Game gameAt(int slot) {
+        return new Game(Country.ofOrdinal(homeTeams[slot] & 0xFF), Country.ofOrdinal(awayTeams[slot] & 0xFF),
+            homeScores[slot], awayScores[slot], startTimes[slot], sequences[slot]);
+    }
+
+    private int positionOf(int slot) {
+        return lowerBound(0, size, homeScores[slot] + awayScores[slot], sequences[slot]);
+    }
+
+    // First position in [from, to) whose game does not rank above a game with the given sort key
+    private int lowerBound(int from, int to, int total, long sequence) {
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            if (ranksAbove(ranking[middle], total, sequence)) {
+                from = middle + 1;
+            } else {
+                to = middle;
+            }
+        }
+        return from;
+    }
+
+    // Same order as Game.SUMMARY_ORDER
+    private boolean ranksAbove(int slot, int total, long sequence) {
+        int slotTotal = homeScores[slot] + awayScores[slot];
+        if (slotTotal != total) {
+            return slotTotal > total;
+        }
+        return sequences[slot] > sequence;
+    }
+
+    private int keyOf(int slot) {
+        return GameKeys.of(homeTeams[slot] & 0xFF, awayTeams[slot] & 0xFF);
+    }
+
+    private int slotOf(int gameKey) {
+        if (size == 0) {
+            return FREE;
+        }
+        int mask = index.length - 1;
+        for (int entry = entryOf(gameKey, mask); index[entry] != FREE; entry = (entry + 1) & mask) {
+            if (keyOf(index[entry]) == gameKey) {
+                return index[entry];
+            }
+        }
+        return FREE;
+    }
+
+    private void addToIndex(int gameKey, int slot) {
+        int mask = index.length - 1;
+        int entry = entryOf(gameKey, mask);
+        while (index[entry] != FREE) {
+            entry = (entry + 1) & mask;
+        }
+        index[entry] = slot;
+    }
+
+    // Shifts later entries of the probe chain back so lookups never stop at the freed entry
+    private void removeFromIndex(int gameKey) {
+        int mask = index.length - 1;
+        int gap = entryOf(gameKey, mask);
+        while (keyOf(index[gap]) != gameKey) {
+            gap = (gap + 1) & mask;
+        }
+        int entry = gap;
+        while (true) {
+            entry = (entry + 1) & mask;
+            if (index[entry] == FREE) {
+                break;
+            }
+            int home = entryOf(keyOf(index[entry]), mask);
+            if (((entry - home) & mask) >= ((entry - gap) & mask)) {
+                index[gap] = index[entry];
+                gap = entry;
+            }
+        }
+        index[gap] = FREE;
+    }
+
+    private void ensureCapacity() {
+        if (homeTeams == null) {
+            homeTeams = new byte[INITIAL_CAPACITY];
+            awayTeams = new byte[INITIAL_CAPACITY];
+            homeScores = new int[INITIAL_CAPACITY];
+            awayScores = new int[INITIAL_CAPACITY];
+            startTimes = new long[INITIAL_CAPACITY];
+            sequences = new long[INITIAL_CAPACITY];
+            freeSlots = new int[INITIAL_CAPACITY];
+            ranking = new int[INITIAL_CAPACITY];
+            index = new int[INITIAL_CAPACITY * 2];
+            Arrays.fill(index, FREE);
+            return;
+        }
+        if (freeSlotCount == 0 && usedSlotCount == homeTeams.length) {
+            int capacity = homeTeams.length * 2;
+            homeTeams = Arrays.copyOf(homeTeams, capacity);
+            awayTeams = Arrays.copyOf(awayTeams, capacity);
+            homeScores = Arrays.copyOf(homeScores, capacity);
+            awayScores = Arrays.copyOf(awayScores, capacity);
+            startTimes = Arrays.copyOf(startTimes, capacity);
+            sequences = Arrays.copyOf(sequences, capacity);
+            freeSlots = Arrays.copyOf(freeSlots, capacity);
+            ranking = Arrays.copyOf(ranking, capacity);
+        }
+        if ((size + 1) * 4 > index.length * 3) {
+            index = new int[index.length * 2];
+            Arrays.fill(index, FREE);
+            for (int position = 0; position < size; position++) {
+                addToIndex(keyOf(ranking[position]), ranking[position]);
+            }
+        }
+    }
+
+    private static int entryOf(int gameKey, int mask) {
+        return (gameKey * 0x9E3779B9 >>> 16) & mask;
+    }
+}
@@ -0,0 +1,156 @@
+package io.eagle44;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compact binary form of a command: one opcode byte, then for start/update/finish the home and
+ * away {@link Country#getOrdinal() ordinals} as one unsigned byte each, and for update both scores
+ * as unsigned LEB128 varints. A summary is the opcode alone, followed by the number of games as a
+ * varint when it is limited. A results query is the opcode, followed by the country ordinal when
+ * it asks for one country.
+ */
+public final class BinaryCommandCodec {
+    public static final int MAX_ENCODED_SIZE = 1 + 2 + 2 * 5;
+
+    private static final byte START = 1;
+    private static final byte UPDATE = 2;
+    private static final byte FINISH = 3;
+    private static final byte SUMMARY = 4;
+    private static final byte METRICS = 5;
+    private static final byte LIMITED_SUMMARY = 6;
+    private static final byte RESULTS = 7;
+    private static final byte COUNTRY_RESULTS = 8;
+
+    private BinaryCommandCodec() {
+        // Prevent instantiation
+    }
+
+    public static void encode(MutableCommand command, ByteBuffer buffer) {
+        if (command.getType() == CommandType.SUMMARY && command.getSummaryLimit() != MutableCommand.ALL_GAMES) {
+            putVarint(buffer.put(LIMITED_SUMMARY), command.getSummaryLimit());
+            return;
+        }
+        encode(command.getType(), command.getHomeTeam(), command.getAwayTeam(),
+            command.getHomeScore(), command.getAwayScore(), buffer);
+    }
+
+    public static void encode(Command command, ByteBuffer buffer) {
+        String[] args = command.getArgs();
+        switch (command.getType()) {
+            case "start" -> encode(CommandType.START, Country.of(args[0]), Country.of(args[1]), 0, 0, buffer);
+            case "update" -> encode(CommandType.UPDATE, Country.of(args[0]), Country.of(args[1]),
+                Integer.parseInt(args[2]), Integer.parseInt(args[3]), buffer);
+            case "finish" -> encode(CommandType.FINISH, Country.of(args[0]), Country.of(args[1]), 0, 0, buffer);
+            case "summary" -> {
+                if (args.length == 0) {
+                    encode(CommandType.SUMMARY, null, null, 0, 0, buffer);
+                } else {
+                    putVarint(buffer.put(LIMITED_SUMMARY), Integer.parseInt(args[0]));
+                }
+            }
+            case "metrics" -> encode(CommandType.METRICS, null, null, 0, 0, buffer);
+            case "results" -> encode(CommandType.RESULTS, args.length == 0 ? null : Country.of(args[0]), null, 0, 0,
+                buffer);
+            default -> throw new IllegalArgumentException("Unknown command type: " + command.getType());
+        }
+    }
+
+    static void encode(CommandType type, Country homeTeam, Country awayTeam, int homeScore, int awayScore,
+                       ByteBuffer buffer) {
+        switch (type) {
+            case START -> putTeams(buffer.put(START), homeTeam, awayTeam);
+            case UPDATE -> {
+                if (homeScore < 0 || awayScore < 0) {
+                    throw new IllegalArgumentException("Score cannot be negative");
+                }
+                putTeams(buffer.put(UPDATE), homeTeam, awayTeam);
+                putVarint(buffer, homeScore);
+                putVarint(buffer, awayScore);
+            }
+            case FINISH -> putTeams(buffer.put(FINISH), homeTeam, awayTeam);
+            case SUMMARY -> buffer.put(SUMMARY);
+            case METRICS -> buffer.put(METRICS);
+            case RESULTS -> {
+                if (homeTeam == null) {
+                    buffer.put(RESULTS);
+                } else {
+                    buffer.put(COUNTRY_RESULTS).put((byte) homeTeam.getOrdinal());
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads one command from the buffer into {@code command}, advancing the buffer past it.
+     */
+    public static void decode(ByteBuffer buffer, MutableCommand command) {
+        byte opcode = buffer.get();
+        switch (opcode) {
+            case START -> command.set(CommandType.START, getTeam(buffer), getTeam(buffer), 0, 0);
+            case UPDATE -> {
+                Country homeTeam = getTeam(buffer);
+                Country awayTeam = getTeam(buffer);
+                int homeScore = getVarint(buffer, "Malformed score");
+                command.set(CommandType.UPDATE, homeTeam, awayTeam, homeScore, getVarint(buffer, "Malformed score"));
+            }
+            case FINISH -> command.set(CommandType.FINISH, getTeam(buffer), getTeam(buffer), 0, 0);
+            case SUMMARY -> command.set(CommandType.SUMMARY, null, null, 0, 0);
+            case METRICS -> command.set(CommandType.METRICS, null, null, 0, 0);
+            case LIMITED_SUMMARY -> {
+                int limit = getVarint(buffer, "Malformed number of games");
+                if (limit == 0) {
+                    throw new IllegalArgumentException("Malformed number of games");
+                }
+                command.setSummary(limit);
+            }
+            case RESULTS -> command.set(CommandType.RESULTS, null, null, 0, 0);
+            case COUNTRY_RESULTS -> command.set(CommandType.RESULTS, getTeam(buffer), null, 0, 0);
+            default -> throw new IllegalArgumentException("Unknown opcode: " + opcode);
+        }
+    }
+
+    public static Command decode(ByteBuffer buffer) {
+        MutableCommand command = new MutableCommand();
+        decode(buffer, command);
+        return command.toCommand();
+    }
+
+    private static void putTeams(ByteBuffer buffer, Country homeTeam, Country awayTeam) {
+        // Fewer than 256 accepted countries, so an ordinal always fits one unsigned byte
+        buffer.put((byte) homeTeam.getOrdinal());
+        buffer.put((byte) awayTeam.getOrdinal());
+    }
+
+    private static Country getTeam(ByteBuffer buffer) {
+        int ordinal = Byte.toUnsignedInt(buffer.get());
+        if (ordinal >= AcceptedCountries.size()) {
+            throw new IllegalArgumentException("Invalid country ordinal: " + ordinal);
+        }
+        return Country.ofOrdinal(ordinal);
+    }
+
+    private static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int getVarint(ByteBuffer buffer, String malformedMessage) {
+        int value = 0;
+        for (int shift = 0; shift < 28; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        // The fifth byte holds bits 28 to 30; anything above them would overflow or be dropped
+        byte last = buffer.get();
+        if (Byte.toUnsignedInt(last) > 0x07) {
+            throw new IllegalArgumentException(malformedMessage);
+        }
+        return value | last << 28;
+    }
+}
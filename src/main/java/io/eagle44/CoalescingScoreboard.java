@@ -0,0 +1,255 @@
+package io.eagle44;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Scoreboard that holds back score updates and only passes the latest score of every match on to
+ * the wrapped scoreboard, so corrections and duplicates from bursty feeds never reach its ranking
+ * or its subscribers.
+ * <p>
+ * Pending updates are applied as one batch when {@code maxPendingMatches} matches have one, every
+ * {@code window}, and before any start, finish or batch, which keeps the order of changes to one
+ * match. Reads go straight to the wrapped scoreboard and lag behind by up to one window.
+ * Updates are still validated immediately. With a window, pending updates are applied on a timer
+ * thread, so the wrapped scoreboard has to be safe for concurrent use, like {@link ConcurrentScoreboard}.
+ */
+public final class CoalescingScoreboard implements Scoreboard, AutoCloseable {
+    private static final int FREE_SLOT = 0;
+
+    private final Scoreboard delegate;
+    private final int maxPendingMatches;
+    // Open-addressed table of the matches with a pending score, sized to maxPendingMatches rather
+    // than to every possible match: game key + 1 per slot, or FREE_SLOT
+    private final int[] slotKeys;
+    // Latest pending score per slot, home score in the high half
+    private final long[] slotScores;
+    // Keeps the top bits of the multiplicative hash, as many as index the table
+    private final int hashShift;
+    // Slots with a pending score, in the order their match was first updated; all of them are
+    // freed together on flush, so probe sequences never have to skip removed entries
+    private final int[] pendingSlots;
+    private int pendingCount;
+    private long submittedUpdates;
+    private long appliedUpdates;
+    private long coalescedUpdates;
+    private final ScheduledExecutorService flusher;
+    // ReentrantLock rather than synchronized, so virtual threads are not pinned while the wrapped
+    // scoreboard writes, e.g. waiting for its journal
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * @param window how long an update may wait, or {@link Duration#ZERO} to only apply pending
+     *               updates when there are {@code maxPendingMatches} of them or on {@link #flush()}
+     */
+    public CoalescingScoreboard(Scoreboard delegate, Duration window, int maxPendingMatches) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Scoreboard cannot be null");
+        }
+        if (window == null || window.isNegative()) {
+            throw new IllegalArgumentException("Window cannot be negative");
+        }
+        if (maxPendingMatches <= 0) {
+            throw new IllegalArgumentException("Maximum pending matches must be positive");
+        }
+        this.delegate = delegate;
+        this.maxPendingMatches = Math.min(maxPendingMatches, GameKeys.CAPACITY);
+        // At most half full, so probes stay short
+        int tableSize = Integer.highestOneBit(2 * this.maxPendingMatches - 1) << 1;
+        this.slotKeys = new int[tableSize];
+        this.slotScores = new long[tableSize];
+        this.hashShift = Integer.numberOfLeadingZeros(tableSize) + 1;
+        this.pendingSlots = new int[this.maxPendingMatches];
+        if (window.isZero()) {
+            this.flusher = null;
+        } else {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "scoreboard-update-coalescer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long millis = Math.max(1, window.toMillis());
+            flusher.scheduleWithFixedDelay(this::flush, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Game startGame(Country homeTeam, Country awayTeam) {
+        lock.lock();
+        try {
+            flush();
+            return delegate.startGame(homeTeam, awayTeam);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void updateScore(Country homeTeam, Country awayTeam, int homeScore, int awayScore) {
+        lock.lock();
+        try {
+            int gameKey = GameKeys.of(homeTeam, awayTeam);
+            if (homeScore < 0 || awayScore < 0) {
+                throw new IllegalArgumentException("Scores cannot be negative");
+            }
+            if (!delegate.hasGame(homeTeam, awayTeam)) {
+                throw new IllegalArgumentException("Game not found");
+            }
+            submittedUpdates++;
+            int slot = slotOf(gameKey);
+            if (slotKeys[slot] == FREE_SLOT) {
+                slotKeys[slot] = gameKey + 1;
+                pendingSlots[pendingCount++] = slot;
+            } else {
+                coalescedUpdates++;
+            }
+            slotScores[slot] = (long) homeScore << Integer.SIZE | awayScore;
+            if (pendingCount == maxPendingMatches) {
+                flush();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void finishGame(Country homeTeam, Country awayTeam) {
+        lock.lock();
+        try {
+            flush();
+            delegate.finishGame(homeTeam, awayTeam);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<CommandResult> applyBatch(List<Command> commands) {
+        lock.lock();
+        try {
+            flush();
+            return delegate.applyBatch(commands);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean hasGame(Country homeTeam, Country awayTeam) {
+        return delegate.hasGame(homeTeam, awayTeam);
+    }
+
+    @Override
+    public ScoreboardSnapshot getSnapshot() {
+        return delegate.getSnapshot();
+    }
+
+    @Override
+    public List<Game> getTopN(int n) {
+        return delegate.getTopN(n);
+    }
+
+    @Override
+    public int getGameCount() {
+        return delegate.getGameCount();
+    }
+
+    @Override
+    public ScoreboardEventPublisher events() {
+        return delegate.events();
+    }
+
+    /**
+     * Applies the latest pending score of every match to the wrapped scoreboard, as one batch, so a
+     * journal behind it forces them to disk with one fsync.
+     */
+    public void flush() {
+        lock.lock();
+        try {
+            if (pendingCount == 0) {
+                return;
+            }
+            List<Command> updates = new ArrayList<>(pendingCount);
+            for (int i = 0; i < pendingCount; i++) {
+                int slot = pendingSlots[i];
+                int gameKey = slotKeys[slot] - 1;
+                long score = slotScores[slot];
+                slotKeys[slot] = FREE_SLOT;
+                updates.add(Command.create(CommandType.UPDATE.getKeyword(),
+                    GameKeys.homeTeam(gameKey).getName(), GameKeys.awayTeam(gameKey).getName(),
+                    Integer.toString((int) (score >>> Integer.SIZE)), Integer.toString((int) score)));
+            }
+            pendingCount = 0;
+            for (CommandResult result : delegate.applyBatch(updates)) {
+                // Failed if finished directly on the wrapped scoreboard in the meantime
+                if (result.isSuccessful()) {
+                    appliedUpdates++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Slot holding gameKey, or the free slot to put it in
+    private int slotOf(int gameKey) {
+        int mask = slotKeys.length - 1;
+        int slot = gameKey * 0x9E3779B9 >>> hashShift;
+        while (slotKeys[slot] != FREE_SLOT && slotKeys[slot] != gameKey + 1) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Updates accepted so far, including the pending ones.
+     */
+    public long getSubmittedUpdates() {
+        lock.lock();
+        try {
+            return submittedUpdates;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Updates passed on to the wrapped scoreboard.
+     */
+    public long getAppliedUpdates() {
+        lock.lock();
+        try {
+            return appliedUpdates;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Updates superseded by a later update of the same match before they were applied.
+     */
+    public long getCoalescedUpdates() {
+        lock.lock();
+        try {
+            return coalescedUpdates;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the timer and applies the pending updates.
+     */
+    @Override
+    public void close() {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        flush();
+    }
+}
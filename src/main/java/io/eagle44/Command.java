@@ -29,6 +29,12 @@ public final class Command {
             case "summary":
                 validateSummaryCommand(args);
                 break;
+            case "metrics":
+                validateMetricsCommand(args);
+                break;
+            case "results":
+                validateResultsCommand(args);
+                break;
             default:
                 throw new IllegalArgumentException("Invalid command type: " + type);
         }
@@ -61,9 +67,31 @@ public final class Command {
     }
 
     private static void validateSummaryCommand(String[] args) {
-        if (args != null && args.length > 0) {
+        if (args == null || args.length == 0) {
+            return;
+        }
+        if (args.length > 1) {
             throw new IllegalArgumentException("Invalid number of arguments for summary command");
         }
+        try {
+            if (Integer.parseInt(args[0]) <= 0) {
+                throw new IllegalArgumentException("Invalid number of games");
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number of games");
+        }
+    }
+
+    private static void validateMetricsCommand(String[] args) {
+        if (args != null && args.length > 0) {
+            throw new IllegalArgumentException("Invalid number of arguments for metrics command");
+        }
+    }
+
+    private static void validateResultsCommand(String[] args) {
+        if (args != null && args.length > 1) {
+            throw new IllegalArgumentException("Invalid number of arguments for results command");
+        }
     }
 
     public String getType() {
@@ -89,6 +117,16 @@ public final class Command {
 
     @Override
     public String toString() {
-        return type + " " + String.join(" ", args);
+        StringBuilder text = new StringBuilder(type);
+        for (String arg : args) {
+            text.append(' ');
+            // Quoted so the text can be read back by CommandTokenizer
+            if (arg.indexOf(' ') >= 0) {
+                text.append('"').append(arg).append('"');
+            } else {
+                text.append(arg);
+            }
+        }
+        return text.toString();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,152 @@
+package io.eagle44;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Validates a list of commands up front and turns it into the operations a scoreboard has to
+ * apply. Updates of the same match within the batch collapse into one operation carrying the
+ * last score, also when commands of other matches come between them. Every command gets a
+ * result; commands are optimistically successful until the operation they were folded into fails.
+ */
+final class CommandBatch {
+    private static final class Operation {
+        private final CommandType type;
+        private final Country homeTeam;
+        private final Country awayTeam;
+        private int homeScore;
+        private int awayScore;
+        private final List<Integer> commandIndexes = new ArrayList<>(1);
+
+        private Operation(CommandType type, Country homeTeam, Country awayTeam, int homeScore, int awayScore) {
+            this.type = type;
+            this.homeTeam = homeTeam;
+            this.awayTeam = awayTeam;
+            this.homeScore = homeScore;
+            this.awayScore = awayScore;
+        }
+    }
+
+    private final List<Command> commands;
+    private final CommandResult[] results;
+    private final List<Operation> operations;
+
+    private CommandBatch(List<Command> commands) {
+        this.commands = commands;
+        this.results = new CommandResult[commands.size()];
+        this.operations = new ArrayList<>(commands.size());
+    }
+
+    /**
+     * @param isLive tells whether the game with the given {@link GameKeys game key} is currently live
+     */
+    static CommandBatch plan(List<Command> commands, IntPredicate isLive) {
+        CommandBatch batch = new CommandBatch(commands);
+        Map<Integer, Boolean> liveInBatch = new HashMap<>();
+        Map<Integer, Operation> lastOperation = new HashMap<>();
+        for (int index = 0; index < commands.size(); index++) {
+            try {
+                batch.planCommand(index, isLive, liveInBatch, lastOperation);
+            } catch (IllegalArgumentException e) {
+                batch.results[index] = CommandResult.failure(commands.get(index), e.getMessage());
+            }
+        }
+        return batch;
+    }
+
+    private void planCommand(int index, IntPredicate isLive, Map<Integer, Boolean> liveInBatch,
+                             Map<Integer, Operation> lastOperation) {
+        Command command = commands.get(index);
+        String[] args = command.getArgs();
+        CommandType type = CommandType.fromKeyword(command.getType());
+        switch (type) {
+            case SUMMARY -> throw new IllegalArgumentException("Summary cannot be part of a batch");
+            case METRICS -> throw new IllegalArgumentException("Metrics cannot be part of a batch");
+            case RESULTS -> throw new IllegalArgumentException("Results cannot be part of a batch");
+            default -> {
+                // Changes of a game, planned below
+            }
+        }
+        Country homeTeam = Country.of(args[0]);
+        Country awayTeam = Country.of(args[1]);
+        int gameKey = GameKeys.of(homeTeam, awayTeam);
+        boolean live = liveInBatch.computeIfAbsent(gameKey, isLive::test);
+
+        Operation operation;
+        switch (type) {
+            case START -> {
+                if (live) {
+                    throw new IllegalArgumentException("Game already exists");
+                }
+                if (homeTeam == awayTeam) {
+                    throw new IllegalArgumentException("Home and away teams cannot be the same");
+                }
+                operation = new Operation(CommandType.START, homeTeam, awayTeam, 0, 0);
+                liveInBatch.put(gameKey, true);
+                results[index] = CommandResult.success(command, "Game started: " + homeTeam + " 0 - 0 " + awayTeam);
+            }
+            case UPDATE -> {
+                int homeScore = Integer.parseInt(args[2]);
+                int awayScore = Integer.parseInt(args[3]);
+                if (!live) {
+                    throw new IllegalArgumentException("Game not found");
+                }
+                if (homeScore < 0 || awayScore < 0) {
+                    throw new IllegalArgumentException("Score cannot be negative");
+                }
+                results[index] = CommandResult.success(command,
+                    "Score updated: " + homeTeam + " " + homeScore + " - " + awayScore + " " + awayTeam);
+                Operation previous = lastOperation.get(gameKey);
+                if (previous != null && previous.type == CommandType.UPDATE) {
+                    previous.homeScore = homeScore;
+                    previous.awayScore = awayScore;
+                    previous.commandIndexes.add(index);
+                    return;
+                }
+                operation = new Operation(CommandType.UPDATE, homeTeam, awayTeam, homeScore, awayScore);
+            }
+            case FINISH -> {
+                if (!live) {
+                    throw new IllegalArgumentException("Game not found");
+                }
+                operation = new Operation(CommandType.FINISH, homeTeam, awayTeam, 0, 0);
+                liveInBatch.put(gameKey, false);
+                results[index] = CommandResult.success(command, "Game finished: " + homeTeam + " vs " + awayTeam);
+            }
+            default -> throw new IllegalStateException("Unexpected command type: " + type);
+        }
+        operation.commandIndexes.add(index);
+        lastOperation.put(gameKey, operation);
+        operations.add(operation);
+    }
+
+    /**
+     * Applies every operation through the given scoreboard, recording failures against the
+     * commands folded into the failing operation.
+     */
+    void applyTo(Scoreboard scoreboard) {
+        for (Operation operation : operations) {
+            try {
+                switch (operation.type) {
+                    case START -> scoreboard.startGame(operation.homeTeam, operation.awayTeam);
+                    case UPDATE -> scoreboard.updateScore(operation.homeTeam, operation.awayTeam,
+                        operation.homeScore, operation.awayScore);
+                    case FINISH -> scoreboard.finishGame(operation.homeTeam, operation.awayTeam);
+                    default -> throw new IllegalStateException("Unexpected operation: " + operation.type);
+                }
+            } catch (IllegalArgumentException e) {
+                for (int index : operation.commandIndexes) {
+                    results[index] = CommandResult.failure(commands.get(index), e.getMessage());
+                }
+            }
+        }
+    }
+
+    List<CommandResult> getResults() {
+        return Arrays.asList(results);
+    }
+}
@@ -0,0 +1,38 @@
+package io.eagle44;
+
+public final class CommandResult {
+    private final Command command;
+    private final boolean successful;
+    private final String message;
+
+    private CommandResult(Command command, boolean successful, String message) {
+        this.command = command;
+        this.successful = successful;
+        this.message = message;
+    }
+
+    public static CommandResult success(Command command, String message) {
+        return new CommandResult(command, true, message);
+    }
+
+    public static CommandResult failure(Command command, String message) {
+        return new CommandResult(command, false, message);
+    }
+
+    public Command getCommand() {
+        return command;
+    }
+
+    public boolean isSuccessful() {
+        return successful;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return successful ? message : "Error: " + message;
+    }
+}
@@ -0,0 +1,169 @@
+package io.eagle44;
+
+/**
+ * Parses one command line in a single pass without regular expressions or substrings. Country
+ * names are resolved straight from the input characters and scores are accumulated digit by
+ * digit. Arguments containing spaces can be quoted: {@code start "United States" Mexico}.
+ * <p>
+ * Instances keep scratch state between calls and are not thread-safe.
+ */
+public final class CommandTokenizer {
+    private static final int MAX_ARGUMENTS = 4;
+
+    private final int[] argumentStarts = new int[MAX_ARGUMENTS];
+    private final int[] argumentEnds = new int[MAX_ARGUMENTS];
+
+    public void parse(CharSequence input, MutableCommand command) {
+        command.reset();
+        int length = input.length();
+        int verbStart = skipWhitespace(input, 0);
+        int verbEnd = verbStart;
+        while (verbEnd < length && !Character.isWhitespace(input.charAt(verbEnd))) {
+            verbEnd++;
+        }
+        if (verbStart == verbEnd) {
+            throw new IllegalArgumentException("Empty command");
+        }
+        CommandType type = parseType(input, verbStart, verbEnd);
+        int argumentCount = tokenizeArguments(input, verbEnd);
+        if (argumentCount < type.getArgumentCount()
+            || argumentCount > type.getArgumentCount() + type.getOptionalArgumentCount()) {
+            throw new IllegalArgumentException("Invalid number of arguments for " + type + " command");
+        }
+
+        switch (type) {
+            case START, FINISH -> command.set(type, country(input, 0), country(input, 1), 0, 0);
+            case UPDATE -> {
+                Country homeTeam = country(input, 0);
+                Country awayTeam = country(input, 1);
+                command.set(type, homeTeam, awayTeam, score(input, 2), score(input, 3));
+            }
+            case SUMMARY -> command.setSummary(argumentCount == 0 ? MutableCommand.ALL_GAMES : limit(input, 0));
+            case METRICS -> command.set(type, null, null, 0, 0);
+            case RESULTS -> command.set(type, argumentCount == 0 ? null : country(input, 0), null, 0, 0);
+        }
+    }
+
+    private static CommandType parseType(CharSequence input, int start, int end) {
+        CommandType candidate = switch (end - start) {
+            case 5 -> CommandType.START;
+            case 6 -> switch (input.charAt(start) | 0x20) {
+                case 'u' -> CommandType.UPDATE;
+                case 'f' -> CommandType.FINISH;
+                default -> null;
+            };
+            case 7 -> switch (input.charAt(start) | 0x20) {
+                case 'm' -> CommandType.METRICS;
+                case 'r' -> CommandType.RESULTS;
+                default -> CommandType.SUMMARY;
+            };
+            default -> null;
+        };
+        if (candidate == null || !keywordMatches(candidate.getKeyword(), input, start)) {
+            throw new IllegalArgumentException("Invalid command type");
+        }
+        return candidate;
+    }
+
+    private static boolean keywordMatches(String keyword, CharSequence input, int start) {
+        for (int i = 0; i < keyword.length(); i++) {
+            // Keywords are lower-case ASCII letters, so setting the case bit is enough to fold
+            if ((input.charAt(start + i) | 0x20) != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Records argument boundaries and returns how many arguments there are (up to MAX_ARGUMENTS + 1)
+    private int tokenizeArguments(CharSequence input, int position) {
+        int length = input.length();
+        int count = 0;
+        position = skipWhitespace(input, position);
+        while (position < length) {
+            if (count == MAX_ARGUMENTS) {
+                return count + 1;
+            }
+            int start;
+            int end;
+            if (input.charAt(position) == '"') {
+                start = position + 1;
+                end = start;
+                while (end < length && input.charAt(end) != '"') {
+                    end++;
+                }
+                if (end == length) {
+                    throw new IllegalArgumentException("Unterminated quoted argument");
+                }
+                position = end + 1;
+            } else {
+                start = position;
+                end = position;
+                while (end < length && !Character.isWhitespace(input.charAt(end))) {
+                    end++;
+                }
+                position = end;
+            }
+            argumentStarts[count] = start;
+            argumentEnds[count] = end;
+            count++;
+            position = skipWhitespace(input, position);
+        }
+        return count;
+    }
+
+    private Country country(CharSequence input, int argument) {
+        int ordinal = AcceptedCountries.indexOf(input, argumentStarts[argument], argumentEnds[argument]);
+        if (ordinal < 0) {
+            throw new IllegalArgumentException("Invalid country name");
+        }
+        return Country.ofOrdinal(ordinal);
+    }
+
+    private int score(CharSequence input, int argument) {
+        int start = argumentStarts[argument];
+        int end = argumentEnds[argument];
+        boolean negative = start < end && input.charAt(start) == '-';
+        boolean signed = negative || (start < end && input.charAt(start) == '+');
+        int position = signed ? start + 1 : start;
+        int value = digits(input, position, end);
+        if (value < 0) {
+            throw new IllegalArgumentException("Invalid score format");
+        }
+        if (negative && value != 0) {
+            throw new IllegalArgumentException("Score cannot be negative");
+        }
+        return value;
+    }
+
+    private int limit(CharSequence input, int argument) {
+        int value = digits(input, argumentStarts[argument], argumentEnds[argument]);
+        if (value <= 0) {
+            throw new IllegalArgumentException("Invalid number of games");
+        }
+        return value;
+    }
+
+    // Value of the decimal digits in [start, end), or -1 if there are none, others or too many
+    private static int digits(CharSequence input, int start, int end) {
+        if (start == end) {
+            return -1;
+        }
+        int value = 0;
+        for (int position = start; position < end; position++) {
+            int digit = input.charAt(position) - '0';
+            if (digit < 0 || digit > 9 || value > (Integer.MAX_VALUE - digit) / 10) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int skipWhitespace(CharSequence input, int position) {
+        while (position < input.length() && Character.isWhitespace(input.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,52 @@
+package io.eagle44;
+
+public enum CommandType {
+    START("start", 2),
+    UPDATE("update", 4),
+    FINISH("finish", 2),
+    // Optionally limited to the first n games
+    SUMMARY("summary", 0, 1),
+    METRICS("metrics", 0),
+    // Today's results, or all results of one country
+    RESULTS("results", 0, 1);
+
+    private static final CommandType[] TYPES = values();
+
+    private final String keyword;
+    private final int argumentCount;
+    private final int optionalArgumentCount;
+
+    CommandType(String keyword, int argumentCount) {
+        this(keyword, argumentCount, 0);
+    }
+
+    CommandType(String keyword, int argumentCount, int optionalArgumentCount) {
+        this.keyword = keyword;
+        this.argumentCount = argumentCount;
+        this.optionalArgumentCount = optionalArgumentCount;
+    }
+
+    /**
+     * The type whose keyword is {@code keyword}, as {@link Command#getType()} returns it.
+     */
+    public static CommandType fromKeyword(String keyword) {
+        for (CommandType type : TYPES) {
+            if (type.keyword.equals(keyword)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Invalid command type: " + keyword);
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public int getArgumentCount() {
+        return argumentCount;
+    }
+
+    public int getOptionalArgumentCount() {
+        return optionalArgumentCount;
+    }
+}
@@ -0,0 +1,302 @@
+package io.eagle44;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * Scoreboard safe for many concurrent writers. Every match owns one slot of an array indexed by its
+ * {@link GameKeys game key}, and a writer holds one of a few striped locks, chosen by the game key,
+ * from its change until its event is published, so writers of matches on different stripes never
+ * contend and the events of one match are published in the order of its changes. Summary reads take
+ * no stripe and never make writers wait, except for the rare rebuild that falls back to copying
+ * under every stripe, described below. The keys of live games are also kept in {@link LiveKeys}, so
+ * summaries visit only the live games instead of every slot.
+ * <p>
+ * Readers share one published {@link ScoreboardSnapshot}. Writers count every change in striped
+ * counters, once before and once after writing its slot; the first read after a change rebuilds the
+ * snapshot, and every other read returns the published one without locking or allocating. A rebuild
+ * reads the slots of the live games without locking and keeps what it read only if the counters
+ * show that no change ran meanwhile, so it always shows a state the scoreboard has been in,
+ * including every change that finished before it was asked for. Only when writers spoil several
+ * scans in a row does it hold every stripe while it copies the live games.
+ * <p>
+ * Batches hold the write side of a {@link StampedLock}, which spoils the optimistic read of a scan
+ * and blocks the read side the copying rebuilds hold, so a summary never contains part of a batch.
+ * Top games read while the snapshot is stale are selected from the same lock-free scan of the live
+ * games, into a heap of at most the games asked for, instead of rebuilding the snapshot; only when
+ * writers spoil every scan do they rebuild and publish it.
+ */
+public final class ConcurrentScoreboard implements Scoreboard {
+    private static final int MATCH_LOCKS = 64;
+    // Scans a rebuild tries before it holds every stripe to copy the live games
+    private static final int OPTIMISTIC_SCANS = 8;
+
+    private final AtomicReferenceArray<Game> games;
+    private final LiveKeys liveKeys;
+    // Counted before a change writes its slot, while modifications is counted after it, so the two
+    // only match while no change is running
+    private final LongAdder changesStarted;
+    // Only counted while the match lock is held, so it is exact while every match lock is held
+    private final LongAdder modifications;
+    private final AtomicReference<ScoreboardSnapshot> snapshot;
+    private final StampedLock batchLock;
+    // Only finishing games touch the archive, and they are rare enough to share its lock
+    private final GameArchive archive;
+    private volatile ScoreboardEventPublisher publisher;
+    // Per stripe of game keys; ReentrantLock rather than a monitor, so virtual threads are not pinned
+    private final ReentrantLock[] matchLocks;
+    // Runs after every optimistic scan, before it is validated
+    private final Runnable scanned;
+
+    public ConcurrentScoreboard() {
+        this(null);
+    }
+
+    /**
+     * Scoreboard that keeps the results of finished games in {@code archive}.
+     */
+    public ConcurrentScoreboard(GameArchive archive) {
+        this(archive, () -> {
+        });
+    }
+
+    ConcurrentScoreboard(GameArchive archive, Runnable scanned) {
+        this.games = new AtomicReferenceArray<>(GameKeys.CAPACITY);
+        this.liveKeys = new LiveKeys(GameKeys.CAPACITY);
+        this.archive = archive;
+        this.changesStarted = new LongAdder();
+        this.modifications = new LongAdder();
+        this.scanned = scanned;
+        this.snapshot = new AtomicReference<>(ScoreboardSnapshot.EMPTY);
+        this.batchLock = new StampedLock();
+        this.matchLocks = new ReentrantLock[MATCH_LOCKS];
+        for (int i = 0; i < MATCH_LOCKS; i++) {
+            matchLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public Game startGame(Country homeTeam, Country awayTeam) {
+        return start(GameKeys.of(homeTeam, awayTeam), Game.start(homeTeam, awayTeam));
+    }
+
+    /**
+     * Starts {@code game} as it was restored from a snapshot, score and start time included.
+     */
+    void restoreGame(Game game) {
+        start(GameKeys.of(game.getHomeTeam(), game.getAwayTeam()), game);
+    }
+
+    private Game start(int gameKey, Game game) {
+        ReentrantLock matchLock = lockMatch(gameKey);
+        try {
+            if (games.get(gameKey) != null) {
+                throw new IllegalArgumentException("Game already exists");
+            }
+            changesStarted.increment();
+            games.set(gameKey, game);
+            liveKeys.add(gameKey);
+            modifications.increment();
+            publish(ScoreboardEvent.Type.GAME_STARTED, null, game);
+            return game;
+        } finally {
+            matchLock.unlock();
+        }
+    }
+
+    @Override
+    public void updateScore(Country homeTeam, Country awayTeam, int homeScore, int awayScore) {
+        int gameKey = GameKeys.of(homeTeam, awayTeam);
+        ReentrantLock matchLock = lockMatch(gameKey);
+        try {
+            Game existingGame = games.get(gameKey);
+            if (existingGame == null) {
+                throw new IllegalArgumentException("Game not found");
+            }
+            Game updatedGame = existingGame.updateScore(homeScore, awayScore);
+            changesStarted.increment();
+            games.set(gameKey, updatedGame);
+            modifications.increment();
+            publish(ScoreboardEvent.Type.SCORE_CHANGED, existingGame, updatedGame);
+        } finally {
+            matchLock.unlock();
+        }
+    }
+
+    @Override
+    public void finishGame(Country homeTeam, Country awayTeam) {
+        int gameKey = GameKeys.of(homeTeam, awayTeam);
+        ReentrantLock matchLock = lockMatch(gameKey);
+        try {
+            Game existingGame = games.get(gameKey);
+            if (existingGame == null) {
+                throw new IllegalArgumentException("Game not found");
+            }
+            changesStarted.increment();
+            games.set(gameKey, null);
+            liveKeys.remove(gameKey);
+            modifications.increment();
+            if (archive != null) {
+                archive.add(existingGame, System.currentTimeMillis());
+            }
+            publish(ScoreboardEvent.Type.GAME_FINISHED, existingGame, null);
+        } finally {
+            matchLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean hasGame(Country homeTeam, Country awayTeam) {
+        return games.get(GameKeys.of(homeTeam, awayTeam)) != null;
+    }
+
+    @Override
+    public List<CommandResult> applyBatch(List<Command> commands) {
+        long stamp = batchLock.writeLock();
+        try {
+            CommandBatch batch = CommandBatch.plan(commands, gameKey -> games.get(gameKey) != null);
+            batch.applyTo(this);
+            return batch.getResults();
+        } finally {
+            batchLock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public ScoreboardSnapshot getSnapshot() {
+        ScoreboardSnapshot current = snapshot.get();
+        if (current.getVersion() >= modifications.sum()) {
+            return current;
+        }
+        LiveGames liveGames = null;
+        for (int scan = 0; scan < OPTIMISTIC_SCANS && liveGames == null; scan++) {
+            List<Game> scannedGames = new ArrayList<>(current.getGames().size() + 16);
+            long version = scanLiveGames(scannedGames::add);
+            if (version >= 0) {
+                liveGames = new LiveGames(version, scannedGames);
+            }
+        }
+        if (liveGames == null) {
+            // Writers kept changing games during every scan
+            liveGames = copyLiveGames();
+        }
+        if (liveGames.version() <= current.getVersion()) {
+            return current;
+        }
+        liveGames.games().sort(Game.SUMMARY_ORDER);
+        ScoreboardSnapshot rebuilt = new ScoreboardSnapshot(liveGames.version(), List.copyOf(liveGames.games()));
+        return snapshot.accumulateAndGet(rebuilt,
+            (published, candidate) -> candidate.isNewerThan(published.getVersion()) ? candidate : published);
+    }
+
+    /**
+     * The first {@code n} games of the published snapshot while it is up to date. Otherwise they are
+     * selected from a lock-free scan of the live games, allocating only the heap of at most
+     * {@code n} games that becomes the result.
+     */
+    @Override
+    public List<Game> getTopN(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Number of games cannot be negative");
+        }
+        ScoreboardSnapshot current = snapshot.get();
+        if (current.getVersion() < modifications.sum()) {
+            // Selecting n games is O(live games * log n), cheaper than the full sort of a rebuild
+            for (int scan = 0; scan < OPTIMISTIC_SCANS; scan++) {
+                TopGames topGames = new TopGames(n);
+                if (scanLiveGames(topGames::offer) >= 0) {
+                    return topGames.toList();
+                }
+            }
+            // Writers kept changing games during every scan; the rebuilt snapshot serves later reads too
+            current = getSnapshot();
+        }
+        List<Game> summary = current.getGames();
+        return summary.subList(0, Math.min(n, summary.size()));
+    }
+
+    /**
+     * Events are ranked on their first read, from the summary as of that read, so a writer only
+     * stores its event; ranks read late can already reflect later changes of other games.
+     */
+    @Override
+    public ScoreboardEventPublisher events() {
+        ScoreboardEventPublisher events = publisher;
+        if (events == null) {
+            synchronized (this) {
+                if (publisher == null) {
+                    publisher = new ScoreboardEventPublisher();
+                }
+                events = publisher;
+            }
+        }
+        return events;
+    }
+
+    private ReentrantLock lockMatch(int gameKey) {
+        ReentrantLock matchLock = matchLocks[gameKey & (MATCH_LOCKS - 1)];
+        matchLock.lock();
+        return matchLock;
+    }
+
+    // Offers the live games to visitor without locking and returns the number of changes up to the
+    // state they were in, or -1 if a change or batch ran meanwhile and they may mix several states
+    private long scanLiveGames(Consumer<Game> visitor) {
+        long stamp = batchLock.tryOptimisticRead();
+        long version = modifications.sum();
+        if (stamp == 0 || changesStarted.sum() != version) {
+            Thread.onSpinWait();
+            return -1;
+        }
+        for (int gameKey = liveKeys.next(0); gameKey >= 0; gameKey = liveKeys.next(gameKey + 1)) {
+            Game game = games.get(gameKey);
+            // Finished between its key and its slot being read
+            if (game != null) {
+                visitor.accept(game);
+            }
+        }
+        scanned.run();
+        // A change that started after the count read before the scan has raised changesStarted above it
+        return changesStarted.sum() == version && batchLock.validate(stamp) ? version : -1;
+    }
+
+    // The live games of one state of the scoreboard, unsorted, and the number of changes up to it
+    private LiveGames copyLiveGames() {
+        long stamp = batchLock.readLock();
+        try {
+            for (ReentrantLock matchLock : matchLocks) {
+                matchLock.lock();
+            }
+            try {
+                List<Game> liveGames = new ArrayList<>();
+                for (int gameKey = liveKeys.next(0); gameKey >= 0; gameKey = liveKeys.next(gameKey + 1)) {
+                    liveGames.add(games.get(gameKey));
+                }
+                return new LiveGames(modifications.sum(), liveGames);
+            } finally {
+                for (ReentrantLock matchLock : matchLocks) {
+                    matchLock.unlock();
+                }
+            }
+        } finally {
+            batchLock.unlockRead(stamp);
+        }
+    }
+
+    // previousGame is null for starts and game is null for finishes; called with the match lock held
+    private void publish(ScoreboardEvent.Type type, Game previousGame, Game game) {
+        ScoreboardEventPublisher events = publisher;
+        if (events != null && events.hasSubscribers()) {
+            events.publish(type, previousGame, game, this::getSnapshot);
+        }
+    }
+
+    private record LiveGames(long version, List<Game> games) {
+    }
+}
@@ -1,40 +1,63 @@
 package io.eagle44;
 
-import java.util.Objects;
-
+/**
+ * One canonical instance exists per accepted country, so countries compare by reference. The
+ * ordinal is the country's index in {@link AcceptedCountries}.
+ */
 public final class Country {
+    private static final Country[] VALUES = createValues();
+
     private final String name;
+    private final int ordinal;
 
-    private Country(String name) {
+    private Country(String name, int ordinal) {
         this.name = name;
+        this.ordinal = ordinal;
     }
 
     public static Country of(String name) {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Country name cannot be null or empty");
         }
-        return new Country(name.trim());
+        int ordinal = AcceptedCountries.indexOf(name.trim());
+        if (ordinal < 0) {
+            throw new IllegalArgumentException("Invalid country name: " + name);
+        }
+        return VALUES[ordinal];
+    }
+
+    static Country ofOrdinal(int ordinal) {
+        return VALUES[ordinal];
     }
 
     public String getName() {
         return name;
     }
 
+    public int getOrdinal() {
+        return ordinal;
+    }
+
     @Override
     public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Country country = (Country) o;
-        return name.equalsIgnoreCase(country.name);
+        return this == o;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name.toLowerCase());
+        return ordinal;
     }
 
     @Override
     public String toString() {
         return name;
     }
-} 
\ No newline at end of file
+
+    private static Country[] createValues() {
+        Country[] values = new Country[AcceptedCountries.size()];
+        for (int ordinal = 0; ordinal < values.length; ordinal++) {
+            values[ordinal] = new Country(AcceptedCountries.nameAt(ordinal), ordinal);
+        }
+        return values;
+    }
+}
@@ -1,8 +1,34 @@
 package io.eagle44;
 
 public final class CountryValidator {
+    public enum Mode {
+        /** Case-insensitive lookup in the sorted set of accepted names. */
+        SORTED_SET,
+        /** Single probe of a collision-free hash table built when the class is loaded. */
+        PERFECT_HASH
+    }
+
+    private final Mode mode;
+
+    public CountryValidator() {
+        this(Mode.PERFECT_HASH);
+    }
+
+    public CountryValidator(Mode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Validator mode cannot be null");
+        }
+        this.mode = mode;
+    }
+
     public boolean isValid(String countryName) {
-        if (countryName == null || countryName.trim().isEmpty()) {
+        if (countryName == null) {
+            return false;
+        }
+        if (mode == Mode.PERFECT_HASH) {
+            return AcceptedCountries.indexOf(countryName) >= 0;
+        }
+        if (countryName.trim().isEmpty()) {
             return false;
         }
 
@@ -0,0 +1,52 @@
+package io.eagle44;
+
+/**
+ * Final result of a game, as read from a {@link GameArchive}.
+ */
+public final class FinishedGame {
+    private final Country homeTeam;
+    private final Country awayTeam;
+    private final int homeScore;
+    private final int awayScore;
+    private final long startEpochMillis;
+    private final long endEpochMillis;
+
+    FinishedGame(Country homeTeam, Country awayTeam, int homeScore, int awayScore,
+                 long startEpochMillis, long endEpochMillis) {
+        this.homeTeam = homeTeam;
+        this.awayTeam = awayTeam;
+        this.homeScore = homeScore;
+        this.awayScore = awayScore;
+        this.startEpochMillis = startEpochMillis;
+        this.endEpochMillis = endEpochMillis;
+    }
+
+    public Country getHomeTeam() {
+        return homeTeam;
+    }
+
+    public Country getAwayTeam() {
+        return awayTeam;
+    }
+
+    public int getHomeScore() {
+        return homeScore;
+    }
+
+    public int getAwayScore() {
+        return awayScore;
+    }
+
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    public long getEndEpochMillis() {
+        return endEpochMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %d - %d %s", homeTeam, homeScore, awayScore, awayTeam);
+    }
+}
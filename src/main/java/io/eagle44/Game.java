@@ -1,21 +1,50 @@
 package io.eagle44;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 public final class Game {
+    // The sequence follows the order of starting, so the most recently started game comes first
+    static final Comparator<Game> SUMMARY_ORDER = Comparator
+        .comparingInt(Game::getTotalScore).reversed()
+        .thenComparing(Comparator.comparingLong(Game::getSequence).reversed());
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
     private final Country homeTeam;
     private final Country awayTeam;
     private final int homeScore;
     private final int awayScore;
-    private final LocalDateTime startTime;
+    // Wall-clock time, only for display and the archive; the sequence orders games
+    private final long startEpochMillis;
+    private final long sequence;
 
     public Game(Country homeTeam, Country awayTeam, int homeScore, int awayScore) {
+        this(homeTeam, awayTeam, homeScore, awayScore, System.currentTimeMillis(), SEQUENCE.incrementAndGet());
+    }
+
+    /**
+     * Game with the given start, such as a view of a game whose state is kept in the columns of
+     * {@link ArrayScoreboard}, or a score update carrying over the start of the original game.
+     */
+    Game(Country homeTeam, Country awayTeam, int homeScore, int awayScore, long startEpochMillis, long sequence) {
         this.homeTeam = homeTeam;
         this.awayTeam = awayTeam;
         this.homeScore = homeScore;
         this.awayScore = awayScore;
-        this.startTime = LocalDateTime.now();
+        this.startEpochMillis = startEpochMillis;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Sequence for a game started outside of {@link #start(Country, Country)}.
+     */
+    static long nextSequence() {
+        return SEQUENCE.incrementAndGet();
     }
 
     public static Game start(Country homeTeam, Country awayTeam) {
@@ -28,11 +57,23 @@ public final class Game {
         return new Game(homeTeam, awayTeam, 0, 0);
     }
 
+    /**
+     * Game restored from a snapshot with its original start time. It is ordered after every game
+     * started so far, so restoring oldest first keeps the order of the summary.
+     */
+    static Game restore(Country homeTeam, Country awayTeam, int homeScore, int awayScore, long startEpochMillis) {
+        Game game = start(homeTeam, awayTeam);
+        if (homeScore < 0 || awayScore < 0) {
+            throw new IllegalArgumentException("Scores cannot be negative");
+        }
+        return new Game(homeTeam, awayTeam, homeScore, awayScore, startEpochMillis, game.sequence);
+    }
+
     public Game updateScore(int newHomeScore, int newAwayScore) {
         if (newHomeScore < 0 || newAwayScore < 0) {
             throw new IllegalArgumentException("Scores cannot be negative");
         }
-        return new Game(homeTeam, awayTeam, newHomeScore, newAwayScore);
+        return new Game(homeTeam, awayTeam, newHomeScore, newAwayScore, startEpochMillis, sequence);
     }
 
     public Country getHomeTeam() {
@@ -51,8 +92,23 @@ public final class Game {
         return awayScore;
     }
 
+    /**
+     * Start in the system time zone, for display.
+     */
     public LocalDateTime getStartTime() {
-        return startTime;
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(startEpochMillis), ZoneId.systemDefault());
+    }
+
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    /**
+     * Order in which games were started, kept across score updates. Unlike the start time it is
+     * unique, so games with the same total score have a fixed order.
+     */
+    long getSequence() {
+        return sequence;
     }
 
     public int getTotalScore() {
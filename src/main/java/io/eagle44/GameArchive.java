@@ -0,0 +1,256 @@
+package io.eagle44;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Results of finished games, in the order they finished.
+ * <p>
+ * Games are stored column by column in primitive arrays, 34 bytes per game, plus one index entry
+ * per team so the results of one country are found without scanning the whole archive. Query
+ * results are materialised as {@link FinishedGame} objects only when read.
+ * <p>
+ * Games that finished more than the retention window before the latest finished game are dropped
+ * when the next game is archived, so a long-running server keeps a bounded history.
+ */
+public final class GameArchive {
+    public static final Duration DEFAULT_RETENTION = Duration.ofDays(7);
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int INITIAL_COUNTRY_CAPACITY = 4;
+
+    private final long retentionMillis;
+    private byte[] homeTeams = new byte[INITIAL_CAPACITY];
+    private byte[] awayTeams = new byte[INITIAL_CAPACITY];
+    private int[] homeScores = new int[INITIAL_CAPACITY];
+    private int[] awayScores = new int[INITIAL_CAPACITY];
+    private long[] startTimes = new long[INITIAL_CAPACITY];
+    private long[] endTimes = new long[INITIAL_CAPACITY];
+    // End times raised to never decrease when the clock goes back, so time range queries can binary search
+    private long[] orderTimes = new long[INITIAL_CAPACITY];
+    // Games before first are dropped; their slots are reused once the arrays are full
+    private int first;
+    private int size;
+    // Per country ordinal, the indexes of its games; allocated when the country first finishes a game
+    private final int[][] gamesByCountry = new int[AcceptedCountries.size()][];
+    private final int[] gameCountByCountry = new int[AcceptedCountries.size()];
+
+    /**
+     * Archive that keeps the games of the last {@link #DEFAULT_RETENTION}.
+     */
+    public GameArchive() {
+        this(DEFAULT_RETENTION);
+    }
+
+    /**
+     * Archive that keeps the games finished at most {@code retention} before the latest one.
+     */
+    public GameArchive(Duration retention) {
+        if (retention == null || retention.isNegative()) {
+            throw new IllegalArgumentException("Retention cannot be negative");
+        }
+        this.retentionMillis = retention.toMillis();
+    }
+
+    /**
+     * Archives the final state of {@code game}, finished at {@code endEpochMillis}.
+     */
+    public synchronized void add(Game game, long endEpochMillis) {
+        append(game.getHomeTeam(), game.getAwayTeam(), game.getHomeScore(), game.getAwayScore(),
+            game.getStartEpochMillis(), endEpochMillis);
+    }
+
+    /**
+     * Archives a result read back, e.g. from a snapshot, with the time it finished originally.
+     */
+    public synchronized void add(FinishedGame result) {
+        append(result.getHomeTeam(), result.getAwayTeam(), result.getHomeScore(), result.getAwayScore(),
+            result.getStartEpochMillis(), result.getEndEpochMillis());
+    }
+
+    private void append(Country homeTeam, Country awayTeam, int homeScore, int awayScore,
+                        long startEpochMillis, long endEpochMillis) {
+        long orderTime = size == first ? endEpochMillis : Math.max(endEpochMillis, orderTimes[size - 1]);
+        while (first < size && orderTimes[first] < orderTime - retentionMillis) {
+            first++;
+        }
+        if (size == homeTeams.length) {
+            // Only compacting once a quarter is dropped keeps adding amortized constant time
+            if (first < homeTeams.length / 4) {
+                grow();
+            }
+            compact();
+        }
+        // Fewer than 256 accepted countries, so an ordinal always fits one unsigned byte
+        homeTeams[size] = (byte) homeTeam.getOrdinal();
+        awayTeams[size] = (byte) awayTeam.getOrdinal();
+        homeScores[size] = homeScore;
+        awayScores[size] = awayScore;
+        startTimes[size] = startEpochMillis;
+        endTimes[size] = endEpochMillis;
+        orderTimes[size] = orderTime;
+        index(homeTeam.getOrdinal(), size);
+        index(awayTeam.getOrdinal(), size);
+        size++;
+    }
+
+    /**
+     * Drops every archived result.
+     */
+    public synchronized void clear() {
+        first = 0;
+        size = 0;
+        Arrays.fill(gameCountByCountry, 0);
+    }
+
+    public synchronized int size() {
+        return size - first;
+    }
+
+    /**
+     * All archived results, oldest first.
+     */
+    public synchronized List<FinishedGame> getResults() {
+        List<FinishedGame> results = new ArrayList<>(size - first);
+        for (int i = first; i < size; i++) {
+            results.add(read(i));
+        }
+        return results;
+    }
+
+    /**
+     * The last {@code count} archived results, oldest first, e.g. those of the games a change just
+     * finished.
+     */
+    synchronized List<FinishedGame> getLatestResults(int count) {
+        List<FinishedGame> results = new ArrayList<>(count);
+        for (int i = Math.max(first, size - count); i < size; i++) {
+            results.add(read(i));
+        }
+        return results;
+    }
+
+    /**
+     * Results of the games finished at or after {@code epochMillis}, oldest first, e.g. today's
+     * results.
+     */
+    public synchronized List<FinishedGame> getResultsSince(long epochMillis) {
+        int from = Arrays.binarySearch(orderTimes, first, size, epochMillis);
+        if (from < 0) {
+            from = -from - 1;
+        }
+        // Several games can finish in the same millisecond; go back to the first of them
+        while (from > first && orderTimes[from - 1] == epochMillis) {
+            from--;
+        }
+        List<FinishedGame> results = new ArrayList<>(size - from);
+        for (int i = from; i < size; i++) {
+            // Listed after a later game only because the clock went back
+            if (endTimes[i] >= epochMillis) {
+                results.add(read(i));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Results of the games finished since midnight in the system time zone, oldest first.
+     */
+    public List<FinishedGame> getTodaysResults() {
+        return getResultsSince(LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    /**
+     * Results of the games {@code country} played, home or away, oldest first.
+     */
+    public synchronized List<FinishedGame> getResults(Country country) {
+        if (country == null) {
+            throw new IllegalArgumentException("Country cannot be null");
+        }
+        int ordinal = country.getOrdinal();
+        int count = gameCountByCountry[ordinal];
+        List<FinishedGame> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int gameIndex = gamesByCountry[ordinal][i];
+            if (gameIndex >= first) {
+                results.add(read(gameIndex));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Text of {@code results}, one game per line, as shown by the console and the HTTP server.
+     */
+    static String render(List<FinishedGame> results) {
+        if (results.isEmpty()) {
+            return "No results" + System.lineSeparator();
+        }
+        StringBuilder text = new StringBuilder("Results:").append(System.lineSeparator());
+        for (FinishedGame result : results) {
+            text.append(result).append(System.lineSeparator());
+        }
+        return text.toString();
+    }
+
+    private FinishedGame read(int index) {
+        return new FinishedGame(
+            Country.ofOrdinal(Byte.toUnsignedInt(homeTeams[index])),
+            Country.ofOrdinal(Byte.toUnsignedInt(awayTeams[index])),
+            homeScores[index], awayScores[index], startTimes[index], endTimes[index]);
+    }
+
+    private void index(int ordinal, int gameIndex) {
+        int[] games = gamesByCountry[ordinal];
+        int count = gameCountByCountry[ordinal];
+        if (games == null) {
+            games = new int[INITIAL_COUNTRY_CAPACITY];
+        } else if (count == games.length) {
+            games = Arrays.copyOf(games, count * 2);
+        }
+        games[count] = gameIndex;
+        gamesByCountry[ordinal] = games;
+        gameCountByCountry[ordinal] = count + 1;
+    }
+
+    // Moves the games kept to the start of the arrays, and drops the dropped games from the index
+    private void compact() {
+        if (first == 0) {
+            return;
+        }
+        int count = size - first;
+        System.arraycopy(homeTeams, first, homeTeams, 0, count);
+        System.arraycopy(awayTeams, first, awayTeams, 0, count);
+        System.arraycopy(homeScores, first, homeScores, 0, count);
+        System.arraycopy(awayScores, first, awayScores, 0, count);
+        System.arraycopy(startTimes, first, startTimes, 0, count);
+        System.arraycopy(endTimes, first, endTimes, 0, count);
+        System.arraycopy(orderTimes, first, orderTimes, 0, count);
+        for (int ordinal = 0; ordinal < gamesByCountry.length; ordinal++) {
+            int[] games = gamesByCountry[ordinal];
+            int kept = 0;
+            for (int i = 0; i < gameCountByCountry[ordinal]; i++) {
+                if (games[i] >= first) {
+                    games[kept++] = games[i] - first;
+                }
+            }
+            gameCountByCountry[ordinal] = kept;
+        }
+        first = 0;
+        size = count;
+    }
+
+    private void grow() {
+        int capacity = homeTeams.length * 2;
+        homeTeams = Arrays.copyOf(homeTeams, capacity);
+        awayTeams = Arrays.copyOf(awayTeams, capacity);
+        homeScores = Arrays.copyOf(homeScores, capacity);
+        awayScores = Arrays.copyOf(awayScores, capacity);
+        startTimes = Arrays.copyOf(startTimes, capacity);
+        endTimes = Arrays.copyOf(endTimes, capacity);
+        orderTimes = Arrays.copyOf(orderTimes, capacity);
+    }
+}
@@ -0,0 +1,548 @@
+package io.eagle44;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of accepted start, update and finish operations in the
+ * {@link BinaryCommandCodec binary command format}, each framed by its length in one byte before it
+ * and a CRC32C checksum after it. The file header holds a magic number and the
+ * position of the first record, because {@link #compactBefore(long) compaction} drops the records a
+ * snapshot already covers; positions keep counting from the creation of the journal.
+ * <p>
+ * A finish can be {@link #append(FinishedGame) journaled with the result} of the game: its scores,
+ * start time and end time follow the command in the same record, so a replay hands the result back
+ * as it was archived rather than finishing the game at the time of the replay.
+ * <p>
+ * Appends only copy the record into an in-memory buffer and return its end position. A committer
+ * thread writes the buffer and forces it to disk as soon as anyone {@link #awaitDurable(long) waits}
+ * for a record in it, and at least every commit interval otherwise. Records appended while a force
+ * runs go to disk together with the next one, so concurrent writers share one fsync. A record that
+ * nobody waited for can be lost in a crash.
+ * <p>
+ * On recovery a bad record is only dropped as torn when nothing but zeros follows it; a bad record
+ * followed by more records is corruption, and recovery fails instead of deleting them.
+ */
+public final class GameJournal implements AutoCloseable {
+    private static final int MAGIC = 0x4C534A33; // "LSJ3"
+    private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES;
+    // Length byte before the record and checksum after it
+    private static final int FRAME_SIZE = 1 + Integer.BYTES;
+    // Scores, start time and end time following a finish
+    private static final int RESULT_SIZE = 2 * Integer.BYTES + 2 * Long.BYTES;
+    private static final int MAX_RECORD_SIZE = FRAME_SIZE + BinaryCommandCodec.MAX_ENCODED_SIZE + RESULT_SIZE;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final long DEFAULT_COMMIT_INTERVAL_MILLIS = 5;
+
+    private final Path path;
+    private final long commitIntervalMillis;
+    // A lock rather than a monitor, so appenders on virtual threads waiting for the committer do
+    // not pin their carriers
+    private final ReentrantLock lock = new ReentrantLock();
+    // Signalled whenever the buffer, the durable position or the state of the journal changes
+    private final Condition changed = lock.newCondition();
+    private final Thread committer;
+    private final CRC32C checksum = new CRC32C();
+    private ByteBuffer active;
+    private ByteBuffer committing;
+    // Only used by the committer thread once it is started, and by close() after it stopped
+    private FileChannel channel;
+    private long basePosition;
+    // Record bytes ever appended and forced to disk, both counted from the creation of the journal
+    private long appendedPosition;
+    private long durablePosition;
+    private long compactionPosition;
+    private boolean closed;
+    private IOException failure;
+
+    private GameJournal(Path path, FileChannel channel, long basePosition, long position,
+                        long commitIntervalMillis) {
+        this.path = path;
+        this.channel = channel;
+        this.commitIntervalMillis = commitIntervalMillis;
+        this.active = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.committing = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.basePosition = basePosition;
+        this.appendedPosition = position;
+        this.durablePosition = position;
+        this.compactionPosition = basePosition;
+        this.committer = new Thread(this::commitLoop, "game-journal-committer");
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    /**
+     * Replays the journal at {@code path} into the scoreboard, drops a record torn by a crash, and
+     * opens the journal for appending. A missing journal is created.
+     *
+     * @throws IOException if a record in the middle of the journal is corrupt
+     */
+    public static GameJournal recover(Path path, Scoreboard scoreboard) throws IOException {
+        return recover(path, scoreboard, 0);
+    }
+
+    /**
+     * Like {@link #recover(Path, Scoreboard)}, but only replays the records from
+     * {@code fromPosition} on, e.g. the tail behind a snapshot already loaded into the scoreboard.
+     */
+    public static GameJournal recover(Path path, Scoreboard scoreboard, long fromPosition) throws IOException {
+        return recover(path, scoreboard, fromPosition, result -> {
+        });
+    }
+
+    /**
+     * Like {@link #recover(Path, Scoreboard, long)}, and hands every replayed finish that was
+     * journaled with its result to {@code finished}, in journal order.
+     */
+    public static GameJournal recover(Path path, Scoreboard scoreboard, long fromPosition,
+                                      Consumer<FinishedGame> finished) throws IOException {
+        long validLength = Files.exists(path) ? replay(path, scoreboard, fromPosition, finished) : 0;
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long basePosition = validLength < HEADER_SIZE ? fromPosition : readHeader(channel, path);
+            // A snapshot can cover records that were appended but never reached the disk; appending
+            // behind them would put new records before the position replays start from
+            if (validLength < HEADER_SIZE || basePosition + validLength - HEADER_SIZE < fromPosition) {
+                basePosition = fromPosition;
+                channel.truncate(0);
+                writeHeader(channel, basePosition);
+                channel.force(true);
+                validLength = HEADER_SIZE;
+            } else {
+                channel.truncate(validLength);
+            }
+            channel.position(validLength);
+            return new GameJournal(path, channel, basePosition, basePosition + validLength - HEADER_SIZE,
+                DEFAULT_COMMIT_INTERVAL_MILLIS);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Applies every complete record of the journal to the scoreboard, without validating or
+     * printing anything per record. Records the scoreboard rejects are skipped.
+     *
+     * @return length of the journal file up to the end of the last complete record
+     * @throws IOException if a record in the middle of the journal is corrupt
+     */
+    public static long replay(Path path, Scoreboard scoreboard) throws IOException {
+        return replay(path, scoreboard, 0, result -> {
+        });
+    }
+
+    private static long replay(Path path, Scoreboard scoreboard, long fromPosition,
+                               Consumer<FinishedGame> finished) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                return 0;
+            }
+            MappedByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (records.getInt() != MAGIC) {
+                throw new IOException("Not a game journal: " + path);
+            }
+            long basePosition = records.getLong();
+            if (basePosition > fromPosition) {
+                throw new IOException("Journal " + path + " starts at position " + basePosition
+                    + ", records from " + fromPosition + " on are missing");
+            }
+            // Records before this file offset are already part of the scoreboard
+            long skipUntil = HEADER_SIZE + fromPosition - basePosition;
+            JournalRecord record = new JournalRecord();
+            CRC32C checksum = new CRC32C();
+            int complete = records.position();
+            while (complete < records.capacity()) {
+                int end = readRecord(records, complete, checksum, record);
+                if (end < 0) {
+                    if (!isTornTail(records, complete)) {
+                        throw new IOException("Corrupt journal record at byte " + complete + " of " + path
+                            + ", followed by more records");
+                    }
+                    break;
+                }
+                complete = end;
+                if (complete > skipUntil && apply(record.command, scoreboard) && record.result != null) {
+                    finished.accept(record.result);
+                }
+            }
+            return complete;
+        }
+    }
+
+    // End of the record at start, or -1 if it is incomplete, fails its checksum or cannot be decoded
+    private static int readRecord(ByteBuffer records, int start, CRC32C checksum, JournalRecord record) {
+        int length = Byte.toUnsignedInt(records.get(start));
+        int bodyEnd = start + 1 + length;
+        if (length == 0 || bodyEnd + Integer.BYTES > records.capacity()) {
+            return -1;
+        }
+        try {
+            checksum.reset();
+            checksum.update(records.limit(bodyEnd).position(start + 1));
+            records.limit(records.capacity());
+            if ((int) checksum.getValue() != records.getInt(bodyEnd)) {
+                return -1;
+            }
+            BinaryCommandCodec.decode(records.limit(bodyEnd).position(start + 1), record.command);
+            record.result = record.command.getType() == CommandType.FINISH && records.hasRemaining()
+                ? readResult(records, record.command) : null;
+            return records.position() == bodyEnd ? bodyEnd + Integer.BYTES : -1;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return -1;
+        } finally {
+            records.limit(records.capacity());
+        }
+    }
+
+    private static FinishedGame readResult(ByteBuffer records, MutableCommand finish) {
+        int homeScore = records.getInt();
+        int awayScore = records.getInt();
+        if (homeScore < 0 || awayScore < 0) {
+            throw new IllegalArgumentException("Malformed score");
+        }
+        return new FinishedGame(finish.getHomeTeam(), finish.getAwayTeam(), homeScore, awayScore,
+            records.getLong(), records.getLong());
+    }
+
+    // A record cut off by a crash runs to the end of the file, or is followed only by zeros the file
+    // system allocated before the crash
+    private static boolean isTornTail(ByteBuffer records, int start) {
+        int length = Byte.toUnsignedInt(records.get(start));
+        int from = length == 0 ? start : start + 1 + length + Integer.BYTES;
+        for (int i = from; i < records.capacity(); i++) {
+            if (records.get(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeHeader(FileChannel channel, long basePosition) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putLong(basePosition).flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    private static long readHeader(FileChannel channel, Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            // Keep reading until the header is complete
+        }
+        if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+            throw new IOException("Not a game journal: " + path);
+        }
+        return header.getLong(Integer.BYTES);
+    }
+
+    // False if the scoreboard rejected the command
+    static boolean apply(MutableCommand command, Scoreboard scoreboard) {
+        try {
+            switch (command.getType()) {
+                case START -> scoreboard.startGame(command.getHomeTeam(), command.getAwayTeam());
+                case UPDATE -> scoreboard.updateScore(command.getHomeTeam(), command.getAwayTeam(),
+                    command.getHomeScore(), command.getAwayScore());
+                case FINISH -> scoreboard.finishGame(command.getHomeTeam(), command.getAwayTeam());
+                case SUMMARY, METRICS, RESULTS -> {
+                    // Never journaled
+                }
+            }
+            return true;
+        } catch (IllegalArgumentException e) {
+            // Already applied, e.g. when replaying on top of newer state
+            return false;
+        }
+    }
+
+    /**
+     * Appends the change to the buffer without waiting for the disk.
+     *
+     * @return position of the end of the record, to {@link #awaitDurable(long) wait} for
+     */
+    public long append(CommandType type, Country homeTeam, Country awayTeam, int homeScore, int awayScore) {
+        lock.lock();
+        try {
+            ensureWritable();
+            int start = active.position();
+            active.position(start + 1);
+            BinaryCommandCodec.encode(type, homeTeam, awayTeam, homeScore, awayScore, active);
+            return appended(start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Like {@link #append(CommandType, Country, Country, int, int)}, for an accepted command.
+     */
+    public long append(Command command) {
+        lock.lock();
+        try {
+            ensureWritable();
+            int start = active.position();
+            active.position(start + 1);
+            BinaryCommandCodec.encode(command, active);
+            return appended(start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends the finish of a game together with its result, so a replay can archive the game as it
+     * finished.
+     *
+     * @return position of the end of the record, to {@link #awaitDurable(long) wait} for
+     */
+    public long append(FinishedGame result) {
+        lock.lock();
+        try {
+            ensureWritable();
+            int start = active.position();
+            active.position(start + 1);
+            BinaryCommandCodec.encode(CommandType.FINISH, result.getHomeTeam(), result.getAwayTeam(), 0, 0, active);
+            active.putInt(result.getHomeScore()).putInt(result.getAwayScore())
+                .putLong(result.getStartEpochMillis()).putLong(result.getEndEpochMillis());
+            return appended(start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until every record up to {@code position} has been forced to disk. Asks the committer
+     * to start right away, and shares its fsync with every record appended before it starts.
+     */
+    public void awaitDurable(long position) {
+        lock.lock();
+        try {
+            changed.signalAll();
+            while (durablePosition < position && failure == null) {
+                awaitCommitter();
+            }
+            throwIfFailed();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until everything appended so far has been forced to disk.
+     */
+    public void flush() {
+        awaitDurable(position());
+    }
+
+    /**
+     * Record bytes appended since the journal was created, including records dropped by
+     * compaction. Always at a record boundary.
+     */
+    public long position() {
+        lock.lock();
+        try {
+            return appendedPosition;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Asks the committer to drop the records before {@code position} once they are on disk,
+     * because a durable snapshot now covers them. Appends keep going into the buffer meanwhile.
+     * The shortened journal replaces the old file atomically, so a crash leaves either of them.
+     */
+    public void compactBefore(long position) {
+        lock.lock();
+        try {
+            if (position > appendedPosition) {
+                throw new IllegalArgumentException("Cannot compact beyond the end of the journal");
+            }
+            compactionPosition = Math.max(compactionPosition, position);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            try {
+                flush();
+            } finally {
+                closed = true;
+                changed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    // Must hold the lock; frames the record encoded after the length byte at start and returns its end
+    private long appended(int start) {
+        int bodyEnd = active.position();
+        active.put(start, (byte) (bodyEnd - start - 1));
+        checksum.reset();
+        checksum.update(active.limit(bodyEnd).position(start + 1));
+        active.limit(active.capacity());
+        active.putInt((int) checksum.getValue());
+        appendedPosition += active.position() - start;
+        if (active.position() > BUFFER_SIZE / 2) {
+            // Start writing early instead of letting appenders wait for a full buffer
+            changed.signalAll();
+        }
+        return appendedPosition;
+    }
+
+    // Must hold the lock; waits until the committer drained the buffer if a record may not fit
+    private void ensureWritable() {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        while (active.remaining() < MAX_RECORD_SIZE && failure == null) {
+            changed.signalAll();
+            awaitCommitter();
+        }
+        throwIfFailed();
+    }
+
+    private void awaitCommitter() {
+        try {
+            changed.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the journal", e);
+        }
+    }
+
+    private void throwIfFailed() {
+        if (failure != null) {
+            throw new UncheckedIOException("Journal write failed", failure);
+        }
+    }
+
+    private void commitLoop() {
+        while (true) {
+            long committedPosition;
+            long compactTo = -1;
+            lock.lock();
+            try {
+                if (compactionPosition > basePosition && compactionPosition <= durablePosition) {
+                    compactTo = compactionPosition;
+                    committedPosition = durablePosition;
+                } else {
+                    if (active.position() == 0) {
+                        if (closed) {
+                            return;
+                        }
+                        try {
+                            changed.await(commitIntervalMillis, TimeUnit.MILLISECONDS);
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                        if (active.position() == 0) {
+                            continue;
+                        }
+                    }
+                    ByteBuffer filled = active;
+                    active = committing;
+                    committing = filled;
+                    committedPosition = appendedPosition;
+                    // Appenders waiting for room can continue with the emptied buffer
+                    changed.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+            try {
+                if (compactTo >= 0) {
+                    compact(compactTo);
+                } else {
+                    committing.flip();
+                    while (committing.hasRemaining()) {
+                        channel.write(committing);
+                    }
+                    committing.clear();
+                    channel.force(false);
+                }
+            } catch (IOException e) {
+                lock.lock();
+                try {
+                    failure = e;
+                    changed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+            lock.lock();
+            try {
+                durablePosition = committedPosition;
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Copies the records from position on into a new file and swaps it in for the journal
+    private void compact(long position) throws IOException {
+        Path compacted = path.resolveSibling(path.getFileName() + ".compacting");
+        FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            writeHeader(target, position);
+            target.position(HEADER_SIZE);
+            long end = channel.size();
+            for (long from = HEADER_SIZE + position - basePosition; from < end; ) {
+                from += channel.transferTo(from, end - from, target);
+            }
+            target.force(true);
+            Files.move(compacted, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            target.close();
+            Files.deleteIfExists(compacted);
+            throw e;
+        }
+        channel.close();
+        channel = target.position(target.size());
+        lock.lock();
+        try {
+            basePosition = position;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // A record read back; result is only set for a finish journaled with the result of the game
+    private static final class JournalRecord {
+        private final MutableCommand command = new MutableCommand();
+        private FinishedGame result;
+    }
+}
@@ -0,0 +1,32 @@
+package io.eagle44;
+
+/**
+ * Packs a home/away pair into a single {@code int} from the {@link Country#getOrdinal() ordinals}
+ * of both countries. Keys are dense: every key lies in {@code [0, CAPACITY)}.
+ */
+final class GameKeys {
+    static final int CAPACITY = AcceptedCountries.size() * AcceptedCountries.size();
+
+    private GameKeys() {
+        // Prevent instantiation
+    }
+
+    static int of(Country homeTeam, Country awayTeam) {
+        if (homeTeam == null || awayTeam == null) {
+            throw new IllegalArgumentException("Teams cannot be null");
+        }
+        return of(homeTeam.getOrdinal(), awayTeam.getOrdinal());
+    }
+
+    static int of(int homeOrdinal, int awayOrdinal) {
+        return homeOrdinal * AcceptedCountries.size() + awayOrdinal;
+    }
+
+    static Country homeTeam(int gameKey) {
+        return Country.ofOrdinal(gameKey / AcceptedCountries.size());
+    }
+
+    static Country awayTeam(int gameKey) {
+        return Country.ofOrdinal(gameKey % AcceptedCountries.size());
+    }
+}
@@ -0,0 +1,122 @@
+package io.eagle44;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from {@link GameKeys game keys} to games. Keys are stored in a plain
+ * {@code int[]}, so lookups neither box the key nor allocate. The arrays are only created on the
+ * first insert, so an empty table costs a couple of fields.
+ */
+final class GameTable {
+    private static final int FREE = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] keys;
+    private Game[] games;
+    private int size;
+
+    Game get(int key) {
+        if (size == 0) {
+            return null;
+        }
+        int mask = keys.length - 1;
+        for (int slot = slotOf(key, mask); keys[slot] != FREE; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return games[slot];
+            }
+        }
+        return null;
+    }
+
+    boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Stores the game under the key and returns the game previously stored there, if any.
+     */
+    Game put(int key, Game game) {
+        if (keys == null) {
+            allocate(INITIAL_CAPACITY);
+        } else if ((size + 1) * 4 > keys.length * 3) {
+            resize(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int slot = slotOf(key, mask);
+        while (keys[slot] != FREE) {
+            if (keys[slot] == key) {
+                Game previous = games[slot];
+                games[slot] = game;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        games[slot] = game;
+        size++;
+        return null;
+    }
+
+    Game remove(int key) {
+        if (size == 0) {
+            return null;
+        }
+        int mask = keys.length - 1;
+        int slot = slotOf(key, mask);
+        while (keys[slot] != key) {
+            if (keys[slot] == FREE) {
+                return null;
+            }
+            slot = (slot + 1) & mask;
+        }
+        Game removed = games[slot];
+        closeGap(slot, mask);
+        size--;
+        return removed;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Shifts later entries of the probe chain back so lookups never stop at the freed slot
+    private void closeGap(int gap, int mask) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (keys[slot] == FREE) {
+                break;
+            }
+            int home = slotOf(keys[slot], mask);
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                games[gap] = games[slot];
+                gap = slot;
+            }
+        }
+        keys[gap] = FREE;
+        games[gap] = null;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Game[] oldGames = games;
+        allocate(capacity);
+        size = 0;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != FREE) {
+                put(oldKeys[slot], oldGames[slot]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, FREE);
+        games = new Game[capacity];
+    }
+
+    private static int slotOf(int key, int mask) {
+        return (key * 0x9E3779B9 >>> 16) & mask;
+    }
+}
@@ -0,0 +1,168 @@
+package io.eagle44;
+
+import java.util.*;
+
+public final class InMemoryScoreboard implements Scoreboard {
+    private final GameTable games;
+    // Games in summary order, kept in step with the map so summaries never sort; the snapshot is
+    // copied from it on the first read after a change
+    private final NavigableSet<Game> ranking;
+    private final GameArchive archive;
+    private long version;
+    private ScoreboardSnapshot snapshot;
+    // Created on the first subscription; ranks are only computed while someone subscribes
+    private ScoreboardEventPublisher publisher;
+
+    public InMemoryScoreboard() {
+        this(null);
+    }
+
+    /**
+     * Scoreboard that keeps the results of finished games in {@code archive}.
+     */
+    public InMemoryScoreboard(GameArchive archive) {
+        this.games = new GameTable();
+        this.archive = archive;
+        this.ranking = new TreeSet<>(Game.SUMMARY_ORDER);
+        this.snapshot = ScoreboardSnapshot.EMPTY;
+    }
+
+    @Override
+    public Game startGame(Country homeTeam, Country awayTeam) {
+        int gameKey = GameKeys.of(homeTeam, awayTeam);
+        if (games.containsKey(gameKey)) {
+            throw new IllegalArgumentException("Game already exists");
+        }
+        return start(gameKey, Game.start(homeTeam, awayTeam));
+    }
+
+    /**
+     * Starts {@code game} as it was restored from a snapshot, score and start time included.
+     */
+    void restoreGame(Game game) {
+        int gameKey = GameKeys.of(game.getHomeTeam(), game.getAwayTeam());
+        if (games.containsKey(gameKey)) {
+            throw new IllegalArgumentException("Game already exists");
+        }
+        start(gameKey, game);
+    }
+
+    private Game start(int gameKey, Game game) {
+        games.put(gameKey, game);
+        ranking.add(game);
+        version++;
+        if (isPublishing()) {
+            publisher.publish(ScoreboardEvent.Type.GAME_STARTED, game, ScoreboardEvent.NO_RANK, rankOf(game));
+        }
+        return game;
+    }
+
+    @Override
+    public void updateScore(Country homeTeam, Country awayTeam, int homeScore, int awayScore) {
+        int gameKey = GameKeys.of(homeTeam, awayTeam);
+        Game existingGame = games.get(gameKey);
+        if (existingGame == null) {
+            throw new IllegalArgumentException("Game not found");
+        }
+        Game updatedGame = existingGame.updateScore(homeScore, awayScore);
+        boolean publishing = isPublishing();
+        int previousRank = publishing ? rankOf(existingGame) : ScoreboardEvent.NO_RANK;
+        ranking.remove(existingGame);
+        ranking.add(updatedGame);
+        games.put(gameKey, updatedGame);
+        version++;
+        if (publishing) {
+            publisher.publish(ScoreboardEvent.Type.SCORE_CHANGED, updatedGame, previousRank, rankOf(updatedGame));
+        }
+    }
+
+    @Override
+    public void finishGame(Country homeTeam, Country awayTeam) {
+        int gameKey = GameKeys.of(homeTeam, awayTeam);
+        Game finishedGame = games.remove(gameKey);
+        if (finishedGame == null) {
+            throw new IllegalArgumentException("Game not found");
+        }
+        int previousRank = isPublishing() ? rankOf(finishedGame) : ScoreboardEvent.NO_RANK;
+        ranking.remove(finishedGame);
+        version++;
+        if (previousRank != ScoreboardEvent.NO_RANK) {
+            publisher.publish(ScoreboardEvent.Type.GAME_FINISHED, finishedGame, previousRank, ScoreboardEvent.NO_RANK);
+        }
+        if (archive != null) {
+            archive.add(finishedGame, System.currentTimeMillis());
+        }
+    }
+
+    @Override
+    public List<CommandResult> applyBatch(List<Command> commands) {
+        CommandBatch batch = CommandBatch.plan(commands, games::containsKey);
+        // Nothing can read in between, and the snapshot is only rebuilt on the next read
+        batch.applyTo(this);
+        return batch.getResults();
+    }
+
+    @Override
+    public ScoreboardSnapshot getSnapshot() {
+        if (snapshot.getVersion() != version) {
+            snapshot = new ScoreboardSnapshot(version, List.copyOf(ranking));
+        }
+        return snapshot;
+    }
+
+    @Override
+    public List<Game> getTopN(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Number of games cannot be negative");
+        }
+        List<Game> topGames = new ArrayList<>(Math.min(n, ranking.size()));
+        for (Game game : ranking) {
+            if (topGames.size() == n) {
+                break;
+            }
+            topGames.add(game);
+        }
+        return topGames;
+    }
+
+    /**
+     * The live game between the teams, or {@code null} if there is none.
+     */
+    Game findGame(Country homeTeam, Country awayTeam) {
+        return games.get(GameKeys.of(homeTeam, awayTeam));
+    }
+
+    /**
+     * The version the next snapshot will carry; grows with every change.
+     */
+    long getVersion() {
+        return version;
+    }
+
+    @Override
+    public int getGameCount() {
+        return games.size();
+    }
+
+    @Override
+    public boolean hasGame(Country homeTeam, Country awayTeam) {
+        return games.containsKey(GameKeys.of(homeTeam, awayTeam));
+    }
+
+    @Override
+    public ScoreboardEventPublisher events() {
+        if (publisher == null) {
+            publisher = new ScoreboardEventPublisher();
+        }
+        return publisher;
+    }
+
+    private boolean isPublishing() {
+        return publisher != null && publisher.hasSubscribers();
+    }
+
+    // Walks the games ranked higher, so only done for subscribers
+    private int rankOf(Game game) {
+        return ranking.headSet(game, false).size() + 1;
+    }
+}
@@ -0,0 +1,274 @@
+package io.eagle44;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Scoreboard that records every accepted change in a {@link GameJournal} so the state survives a
+ * restart. Changes are applied and journaled under one lock, which keeps the journal in the order
+ * the changes were applied; reads go straight to the wrapped scoreboard.
+ * <p>
+ * A change only returns once its record is on disk. Writers wait for that after releasing the lock,
+ * so the changes of concurrent writers are forced to disk together by one fsync.
+ * <p>
+ * A {@link #writeSnapshot() snapshot} of the live games is kept next to the journal as
+ * {@code <journal>.snapshot}, and the journal only keeps the changes made after it.
+ * <p>
+ * When opened with the {@link GameArchive} the wrapped scoreboard archives its finished games in,
+ * the snapshot also keeps the archived results and every finish is journaled with its result, so
+ * the archive is restored with the times the games really finished.
+ */
+public final class JournalingScoreboard implements Scoreboard, AutoCloseable {
+    private final Scoreboard delegate;
+    // Null when finished games are journaled without their results
+    private final GameArchive archive;
+    private final GameJournal journal;
+    private final Path snapshotFile;
+    // ReentrantLock rather than synchronized, so virtual threads are not pinned while writing
+    private final ReentrantLock lock = new ReentrantLock();
+    private ScheduledExecutorService snapshotScheduler;
+
+    private JournalingScoreboard(Scoreboard delegate, GameArchive archive, GameJournal journal, Path snapshotFile) {
+        this.delegate = delegate;
+        this.archive = archive;
+        this.journal = journal;
+        this.snapshotFile = snapshotFile;
+    }
+
+    /**
+     * Rebuilds the state of {@code delegate} from the latest snapshot and the journal behind it,
+     * and keeps journaling to the journal file. Results of finished games are not kept.
+     */
+    public static JournalingScoreboard open(Path journalFile, Scoreboard delegate) throws IOException {
+        return open(journalFile, delegate, null);
+    }
+
+    /**
+     * Like {@link #open(Path, Scoreboard)}, and also keeps the results {@code delegate} archives in
+     * {@code archive}. The archive is replaced by the results restored from the snapshot and the
+     * journal, with their original end times.
+     */
+    public static JournalingScoreboard open(Path journalFile, Scoreboard delegate, GameArchive archive)
+        throws IOException {
+        Path snapshotFile = journalFile.resolveSibling(journalFile.getFileName() + ".snapshot");
+        List<FinishedGame> results = new ArrayList<>();
+        long snapshotPosition = SnapshotFile.load(snapshotFile, delegate, results::add);
+        GameJournal journal = GameJournal.recover(journalFile, delegate, snapshotPosition, results::add);
+        if (archive != null) {
+            // Replaying the finishes archived them again at the time of the replay
+            archive.clear();
+            results.forEach(archive::add);
+        }
+        return new JournalingScoreboard(delegate, archive, journal, snapshotFile);
+    }
+
+    @Override
+    public Game startGame(Country homeTeam, Country awayTeam) {
+        Game game;
+        long position;
+        lock.lock();
+        try {
+            game = delegate.startGame(homeTeam, awayTeam);
+            position = journal.append(CommandType.START, homeTeam, awayTeam, 0, 0);
+        } finally {
+            lock.unlock();
+        }
+        journal.awaitDurable(position);
+        return game;
+    }
+
+    @Override
+    public void updateScore(Country homeTeam, Country awayTeam, int homeScore, int awayScore) {
+        long position;
+        lock.lock();
+        try {
+            delegate.updateScore(homeTeam, awayTeam, homeScore, awayScore);
+            position = journal.append(CommandType.UPDATE, homeTeam, awayTeam, homeScore, awayScore);
+        } finally {
+            lock.unlock();
+        }
+        journal.awaitDurable(position);
+    }
+
+    @Override
+    public void finishGame(Country homeTeam, Country awayTeam) {
+        long position;
+        lock.lock();
+        try {
+            delegate.finishGame(homeTeam, awayTeam);
+            // Changes are applied one at a time under the lock, so the latest result is this game
+            position = archive == null ? journal.append(CommandType.FINISH, homeTeam, awayTeam, 0, 0)
+                : journal.append(archive.getLatestResults(1).getFirst());
+        } finally {
+            lock.unlock();
+        }
+        journal.awaitDurable(position);
+    }
+
+    @Override
+    public List<CommandResult> applyBatch(List<Command> commands) {
+        List<CommandResult> results;
+        long position = -1;
+        lock.lock();
+        try {
+            results = delegate.applyBatch(commands);
+            List<FinishedGame> finished = finishedBy(results);
+            for (CommandResult result : results) {
+                if (!result.isSuccessful()) {
+                    continue;
+                }
+                Command command = result.getCommand();
+                FinishedGame finishedGame = isFinish(command) ? resultOf(finished, command) : null;
+                position = finishedGame == null ? journal.append(command) : journal.append(finishedGame);
+            }
+        } finally {
+            lock.unlock();
+        }
+        // One fsync for the whole batch
+        if (position >= 0) {
+            journal.awaitDurable(position);
+        }
+        return results;
+    }
+
+    // Must hold the lock; the results archived by the batch, empty when results are not kept
+    private List<FinishedGame> finishedBy(List<CommandResult> results) {
+        if (archive == null) {
+            return List.of();
+        }
+        int count = 0;
+        for (CommandResult result : results) {
+            if (result.isSuccessful() && isFinish(result.getCommand())) {
+                count++;
+            }
+        }
+        return count == 0 ? List.of() : archive.getLatestResults(count);
+    }
+
+    // Partitions can archive the finishes of one batch in another order than the commands
+    private static FinishedGame resultOf(List<FinishedGame> finished, Command finish) {
+        Country homeTeam = Country.of(finish.getArgs()[0]);
+        Country awayTeam = Country.of(finish.getArgs()[1]);
+        for (FinishedGame result : finished) {
+            if (result.getHomeTeam().equals(homeTeam) && result.getAwayTeam().equals(awayTeam)) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isFinish(Command command) {
+        return CommandType.fromKeyword(command.getType()) == CommandType.FINISH;
+    }
+
+    @Override
+    public boolean hasGame(Country homeTeam, Country awayTeam) {
+        return delegate.hasGame(homeTeam, awayTeam);
+    }
+
+    @Override
+    public ScoreboardSnapshot getSnapshot() {
+        return delegate.getSnapshot();
+    }
+
+    @Override
+    public List<Game> getTopN(int n) {
+        return delegate.getTopN(n);
+    }
+
+    @Override
+    public int getGameCount() {
+        return delegate.getGameCount();
+    }
+
+    @Override
+    public ScoreboardEventPublisher events() {
+        return delegate.events();
+    }
+
+    /**
+     * Blocks until every change made so far is on disk.
+     */
+    public void flush() {
+        journal.flush();
+    }
+
+    /**
+     * Saves the live games, and the archived results when they are kept, and drops the journaled
+     * changes the snapshot covers. Writers only wait while the summary and the results are copied;
+     * the file is written from those copies once the journal up to them is on disk.
+     */
+    public void writeSnapshot() throws IOException {
+        long position;
+        ScoreboardSnapshot snapshot;
+        List<FinishedGame> results;
+        lock.lock();
+        try {
+            position = journal.position();
+            snapshot = delegate.getSnapshot();
+            results = archive == null ? List.of() : archive.getResults();
+        } finally {
+            lock.unlock();
+        }
+        journal.flush();
+        SnapshotFile.write(snapshotFile, snapshot, results, position);
+        journal.compactBefore(position);
+    }
+
+    /**
+     * Writes a snapshot every {@code interval} on a background thread until the scoreboard is closed.
+     */
+    public void scheduleSnapshots(Duration interval) {
+        lock.lock();
+        try {
+            if (snapshotScheduler != null) {
+                throw new IllegalStateException("Snapshots are already scheduled");
+            }
+            snapshotScheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "scoreboard-snapshot-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long millis = interval.toMillis();
+            snapshotScheduler.scheduleWithFixedDelay(this::writeScheduledSnapshot, millis, millis, TimeUnit.MILLISECONDS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeScheduledSnapshot() {
+        try {
+            writeSnapshot();
+        } catch (IOException | RuntimeException e) {
+            // The journal still has every change, so the next snapshot can try again
+            System.err.println("Writing snapshot failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        ScheduledExecutorService scheduler;
+        lock.lock();
+        try {
+            scheduler = snapshotScheduler;
+        } finally {
+            lock.unlock();
+        }
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        journal.close();
+    }
+}
@@ -0,0 +1,190 @@
+package io.eagle44;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Command line options of {@link LiveScoreboard}.
+ */
+final class LaunchOptions {
+    static final String USAGE = "Usage: LiveScoreboard [--batch [file] | --http port [--partitions count]] [--array-storage]"
+        + " [--coalesce millis] [--journal file [--snapshot-interval seconds]] [--idle-timeout seconds]";
+    static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(30);
+    private static final Duration DEFAULT_SNAPSHOT_INTERVAL = Duration.ofMinutes(1);
+
+    private boolean batch;
+    private Path batchFile;
+    private Path journalFile;
+    private Duration snapshotInterval = DEFAULT_SNAPSHOT_INTERVAL;
+    private Duration idleTimeout = DEFAULT_IDLE_TIMEOUT;
+    private int httpPort = -1;
+    private int partitions;
+    private boolean arrayStorage;
+    private Duration coalesceWindow = Duration.ZERO;
+
+    private LaunchOptions() {
+    }
+
+    static LaunchOptions parse(String[] args) {
+        LaunchOptions options = new LaunchOptions();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--batch" -> {
+                    options.batch = true;
+                    if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                        options.batchFile = Path.of(args[++i]);
+                    }
+                }
+                case "--journal" -> options.journalFile = Path.of(requireValue(args, ++i, "--journal"));
+                case "--snapshot-interval" -> options.snapshotInterval =
+                    parseSeconds(requireValue(args, ++i, "--snapshot-interval"), "snapshot interval");
+                case "--idle-timeout" -> options.idleTimeout =
+                    parseSeconds(requireValue(args, ++i, "--idle-timeout"), "idle timeout");
+                case "--http" -> options.httpPort = parsePort(requireValue(args, ++i, "--http"));
+                case "--array-storage" -> options.arrayStorage = true;
+                case "--coalesce" -> options.coalesceWindow = parseMillis(requireValue(args, ++i, "--coalesce"));
+                case "--partitions" -> options.partitions = parsePartitions(requireValue(args, ++i, "--partitions"));
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (options.batch && options.httpPort >= 0) {
+            throw new IllegalArgumentException("--batch and --http cannot be combined");
+        }
+        if (options.arrayStorage && options.httpPort >= 0) {
+            throw new IllegalArgumentException("--array-storage cannot be served over --http");
+        }
+        if (options.arrayStorage && options.isCoalescing()) {
+            throw new IllegalArgumentException("--array-storage cannot be combined with --coalesce");
+        }
+        if (options.partitions > 0 && options.httpPort < 0) {
+            throw new IllegalArgumentException("--partitions requires --http");
+        }
+        return options;
+    }
+
+    private static String requireValue(String[] args, int index, String option) {
+        if (index >= args.length || args[index].startsWith("--")) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[index];
+    }
+
+    private static int parsePort(String value) {
+        try {
+            int port = Integer.parseInt(value);
+            if (port >= 0 && port <= 65535) {
+                return port;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid port: " + value);
+    }
+
+    private static int parsePartitions(String value) {
+        try {
+            int partitions = Integer.parseInt(value);
+            if (partitions > 0) {
+                return partitions;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid partition count: " + value);
+    }
+
+    private static Duration parseSeconds(String value, String name) {
+        try {
+            long seconds = Long.parseLong(value);
+            if (seconds > 0) {
+                return Duration.ofSeconds(seconds);
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid " + name + ": " + value);
+    }
+
+    private static Duration parseMillis(String value) {
+        try {
+            long millis = Long.parseLong(value);
+            if (millis > 0) {
+                return Duration.ofMillis(millis);
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid coalescing window: " + value);
+    }
+
+    boolean isBatch() {
+        return batch;
+    }
+
+    /**
+     * File to read batch commands from, or {@code null} for standard input.
+     */
+    Path getBatchFile() {
+        return batchFile;
+    }
+
+    /**
+     * Journal to recover from and record to, or {@code null} to keep state in memory only.
+     */
+    Path getJournalFile() {
+        return journalFile;
+    }
+
+    /**
+     * How often the journaled state is saved as a snapshot, so the journal stays short.
+     */
+    Duration getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    /**
+     * How long a console competition other than the default one is kept after its last game and
+     * command.
+     */
+    Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    boolean isHttp() {
+        return httpPort >= 0;
+    }
+
+    /**
+     * Port to serve the scoreboard over HTTP on instead of the console; 0 picks a free port.
+     */
+    int getHttpPort() {
+        return httpPort;
+    }
+
+    /**
+     * Whether the console keeps live games in {@link ArrayScoreboard} columns instead of objects.
+     */
+    boolean isArrayStorage() {
+        return arrayStorage;
+    }
+
+    /**
+     * Number of single-writer partitions the served scoreboard is split into, or 0 for one
+     * lock-free scoreboard.
+     */
+    int getPartitions() {
+        return partitions;
+    }
+
+    boolean isCoalescing() {
+        return !coalesceWindow.isZero();
+    }
+
+    /**
+     * How long score updates are held back so only the latest one per match is applied, or
+     * {@link Duration#ZERO} to apply every update at once.
+     */
+    Duration getCoalesceWindow() {
+        return coalesceWindow;
+    }
+}
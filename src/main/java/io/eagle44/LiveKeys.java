@@ -0,0 +1,90 @@
+package io.eagle44;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free set of {@link GameKeys game keys}, kept as a bitmap with one summary bit per word of
+ * it, so iterating finds the keys in O(capacity / 4096 + keys) instead of testing every key.
+ * <p>
+ * Bits are set and cleared with compare-and-set. Clearing the last bit of a word clears its
+ * summary bit, then sets it again if a concurrent add refilled the word in between.
+ */
+final class LiveKeys {
+    private final int capacity;
+    private final AtomicLongArray words;
+    // Bit i set while word i may have bits set
+    private final AtomicLongArray summary;
+
+    LiveKeys(int capacity) {
+        this.capacity = capacity;
+        this.words = new AtomicLongArray((capacity + 63) >>> 6);
+        this.summary = new AtomicLongArray((words.length() + 63) >>> 6);
+    }
+
+    void add(int key) {
+        int word = key >>> 6;
+        setBit(words, word, key);
+        setBit(summary, word >>> 6, word);
+    }
+
+    void remove(int key) {
+        int word = key >>> 6;
+        clearBit(words, word, key);
+        if (words.get(word) == 0) {
+            clearBit(summary, word >>> 6, word);
+            if (words.get(word) != 0) {
+                setBit(summary, word >>> 6, word);
+            }
+        }
+    }
+
+    /**
+     * The first key at or after {@code from}, or -1 if there is none.
+     */
+    int next(int from) {
+        if (from >= capacity) {
+            return -1;
+        }
+        int word = from >>> 6;
+        long bits = words.get(word) & (-1L << from);
+        while (bits == 0) {
+            word = nextWord(word + 1);
+            if (word < 0) {
+                return -1;
+            }
+            bits = words.get(word);
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    private int nextWord(int from) {
+        int group = from >>> 6;
+        if (group >= summary.length()) {
+            return -1;
+        }
+        long bits = summary.get(group) & (-1L << from);
+        while (bits == 0) {
+            if (++group == summary.length()) {
+                return -1;
+            }
+            bits = summary.get(group);
+        }
+        return (group << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    private static void setBit(AtomicLongArray array, int index, int bit) {
+        long mask = 1L << bit;
+        long bits;
+        do {
+            bits = array.get(index);
+        } while ((bits & mask) == 0 && !array.compareAndSet(index, bits, bits | mask));
+    }
+
+    private static void clearBit(AtomicLongArray array, int index, int bit) {
+        long mask = 1L << bit;
+        long bits;
+        do {
+            bits = array.get(index);
+        } while ((bits & mask) != 0 && !array.compareAndSet(index, bits, bits & ~mask));
+    }
+}
@@ -1,26 +1,79 @@
 package io.eagle44;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Scanner;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
 public final class LiveScoreboard {
-    private final Scoreboard scoreboard;
-    private final CountryValidator countryValidator;
-    private final Scanner scanner;
+    private static final int BATCH_BUFFER_SIZE = 1 << 16;
+    // Matches whose updates may be held back at once before they are applied early
+    private static final int MAX_PENDING_MATCHES = 1024;
+
+    private static final char COMPETITION_PREFIX = '@';
+
+    private final ScoreboardRegistry competitions;
+    private final Scoreboard defaultScoreboard;
+    // Results of the default competition
+    private final GameArchive archive;
+    private final ScoreboardMetrics metrics;
+    private final CommandTokenizer tokenizer;
+    private final MutableCommand command;
+    private final PrintStream out;
+    private final boolean confirmCommands;
+    // Re-rendered only when the scoreboard changed since the last summary
+    private RenderedSummary summary;
+    private Scoreboard summaryScoreboard;
 
     public LiveScoreboard() {
-        this.scoreboard = new Scoreboard();
-        this.countryValidator = new CountryValidator();
-        this.scanner = new Scanner(System.in);
+        this(new GameArchive());
+    }
+
+    private LiveScoreboard(GameArchive archive) {
+        this(new InMemoryScoreboard(archive), archive, new ScoreboardMetrics(), LaunchOptions.DEFAULT_IDLE_TIMEOUT,
+            System.out, true);
+    }
+
+    /**
+     * Console for {@code scoreboard}, which archives its finished games in {@code archive}, as the
+     * default competition; other competitions are kept in memory and evicted after
+     * {@code idleTimeout} without live games.
+     */
+    private LiveScoreboard(Scoreboard scoreboard, GameArchive archive, ScoreboardMetrics metrics,
+                           Duration idleTimeout, PrintStream out, boolean confirmCommands) {
+        this.competitions = new ScoreboardRegistry(
+            () -> new MeteredScoreboard(new InMemoryScoreboard(), metrics), idleTimeout);
+        this.defaultScoreboard = new MeteredScoreboard(scoreboard, metrics);
+        this.competitions.register(ScoreboardRegistry.DEFAULT_COMPETITION, defaultScoreboard);
+        this.archive = archive;
+        this.metrics = metrics;
+        this.tokenizer = new CommandTokenizer();
+        this.command = new MutableCommand();
+        this.out = out;
+        this.confirmCommands = confirmCommands;
     }
 
     public void start() {
+        Scanner scanner = new Scanner(System.in);
         displayWelcome();
         displayHelp();
 
         while (true) {
             try {
                 displayPrompt();
+                if (!scanner.hasNextLine()) {
+                    break;
+                }
                 String input = scanner.nextLine().trim();
                 
                 if (input.equalsIgnoreCase("exit")) {
@@ -38,154 +91,260 @@ public final class LiveScoreboard {
         scanner.close();
     }
 
-    private void processCommand(String input) {
-        String[] parts = input.split("\\s+");
-        if (parts.length == 0) {
-            throw new IllegalArgumentException("Empty command");
+    /**
+     * Applies the commands as one batch and prints the outcome of each of them.
+     */
+    public List<CommandResult> applyBatch(List<Command> commands) {
+        List<CommandResult> results = competitions.get(ScoreboardRegistry.DEFAULT_COMPETITION).applyBatch(commands);
+        for (CommandResult result : results) {
+            if (result.isSuccessful()) {
+                out.println(result);
+            } else {
+                System.err.println(result);
+            }
         }
-
-        String commandType = parts[0].toLowerCase();
-        String[] args = new String[parts.length - 1];
-        System.arraycopy(parts, 1, args, 0, args.length);
-
-        validateCommand(commandType, args);
-        Command command = Command.create(commandType, args);
-        executeCommand(command);
+        return results;
     }
 
-    private void validateCommand(String commandType, String[] args) {
-        switch (commandType) {
-            case "start" -> {
-                if (args.length != 2) {
-                    throw new IllegalArgumentException("Invalid number of arguments for START command");
-                }
-                validateCountryName(args[0]);
-                validateCountryName(args[1]);
+    /**
+     * Non-interactive mode for replaying command logs: no prompts or confirmations, output is
+     * buffered, and errors are reported with their line number instead of stopping the run.
+     * Throughput and the error count are reported on standard error at the end.
+     */
+    private void runBatch(BufferedReader reader) throws IOException {
+        long commands = 0;
+        long errors = 0;
+        long lineNumber = 0;
+        long startNanos = System.nanoTime();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
             }
-            case "update" -> {
-                if (args.length != 4) {
-                    throw new IllegalArgumentException("Invalid number of arguments for UPDATE command");
-                }
-                validateCountryName(args[0]);
-                validateCountryName(args[1]);
-                validateScore(args[2]);
-                validateScore(args[3]);
+            if (line.trim().equalsIgnoreCase("exit")) {
+                break;
             }
-            case "finish" -> {
-                if (args.length != 2) {
-                    throw new IllegalArgumentException("Invalid number of arguments for FINISH command");
-                }
-                validateCountryName(args[0]);
-                validateCountryName(args[1]);
+            commands++;
+            try {
+                processCommand(line);
+            } catch (IllegalArgumentException e) {
+                errors++;
+                out.println("Error at line " + lineNumber + ": " + e.getMessage());
+            }
+        }
+        out.flush();
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.err.printf("Processed %d commands in %.3f s (%.0f commands/s), %d errors%n",
+            commands, seconds, commands / Math.max(seconds, 1e-9), errors);
+    }
+
+    // Commands prefixed with @<competition> go to that competition, all others to the default one
+    private void processCommand(String input) {
+        Scoreboard scoreboard;
+        try {
+            int start = 0;
+            while (start < input.length() && Character.isWhitespace(input.charAt(start))) {
+                start++;
             }
-            case "summary" -> {
-                if (args.length != 0) {
-                    throw new IllegalArgumentException("Invalid number of arguments for SUMMARY command");
+            if (start < input.length() && input.charAt(start) == COMPETITION_PREFIX) {
+                int end = start + 1;
+                while (end < input.length() && !Character.isWhitespace(input.charAt(end))) {
+                    end++;
                 }
+                scoreboard = competitions.get(input.substring(start + 1, end));
+                input = input.substring(end);
+            } else {
+                scoreboard = competitions.get(ScoreboardRegistry.DEFAULT_COMPETITION);
             }
-            default -> throw new IllegalArgumentException("Invalid command type");
+            tokenizer.parse(input, command);
+        } catch (IllegalArgumentException e) {
+            metrics.commandRejected();
+            throw e;
         }
+        executeCommand(scoreboard, command);
     }
 
-    private void validateCountryName(String countryName) {
-        if (!countryValidator.isValid(countryName)) {
-            throw new IllegalArgumentException("Invalid country name");
+    private void executeCommand(Scoreboard scoreboard, MutableCommand command) {
+        switch (command.getType()) {
+            case START -> startGame(scoreboard, command);
+            case UPDATE -> updateScore(scoreboard, command);
+            case FINISH -> finishGame(scoreboard, command);
+            case SUMMARY -> displaySummary(scoreboard, command.getSummaryLimit());
+            case METRICS -> out.print(metrics.render(competitions));
+            case RESULTS -> displayResults(scoreboard, command.getHomeTeam());
         }
     }
 
-    private void validateScore(String score) {
-        try {
-            int value = Integer.parseInt(score);
-            if (value < 0) {
-                throw new IllegalArgumentException("Score cannot be negative");
-            }
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException("Invalid score format");
+    private void startGame(Scoreboard scoreboard, MutableCommand command) {
+        Game game = scoreboard.startGame(command.getHomeTeam(), command.getAwayTeam());
+        if (confirmCommands) {
+            out.println("Game started: " + game);
         }
     }
 
-    private void executeCommand(Command command) {
-        switch (command.getType()) {
-            case "start" -> startGame(command);
-            case "update" -> updateScore(command);
-            case "finish" -> finishGame(command);
-            case "summary" -> displaySummary();
-            default -> throw new IllegalArgumentException("Unknown command type: " + command.getType());
-        }
-    }
-
-    private void startGame(Command command) {
-        String[] args = command.getArgs();
-        Country homeTeam = Country.of(args[0]);
-        Country awayTeam = Country.of(args[1]);
-        
-        if (scoreboard.hasGame(homeTeam, awayTeam)) {
-            throw new IllegalArgumentException("Game already exists");
-        }
-        
-        Game game = scoreboard.startGame(homeTeam, awayTeam);
-        System.out.println("Game started: " + game);
-    }
-
-    private void updateScore(Command command) {
-        String[] args = command.getArgs();
-        Country homeTeam = Country.of(args[0]);
-        Country awayTeam = Country.of(args[1]);
-        int homeScore = Integer.parseInt(args[2]);
-        int awayScore = Integer.parseInt(args[3]);
-        
-        if (!scoreboard.hasGame(homeTeam, awayTeam)) {
-            throw new IllegalArgumentException("Game not found");
-        }
-        
+    private void updateScore(Scoreboard scoreboard, MutableCommand command) {
+        Country homeTeam = command.getHomeTeam();
+        Country awayTeam = command.getAwayTeam();
+        int homeScore = command.getHomeScore();
+        int awayScore = command.getAwayScore();
+
         scoreboard.updateScore(homeTeam, awayTeam, homeScore, awayScore);
-        System.out.println("Score updated: " + homeTeam + " " + homeScore + " - " + awayScore + " " + awayTeam);
+        if (confirmCommands) {
+            out.println("Score updated: " + homeTeam + " " + homeScore + " - " + awayScore + " " + awayTeam);
+        }
     }
 
-    private void finishGame(Command command) {
-        String[] args = command.getArgs();
-        Country homeTeam = Country.of(args[0]);
-        Country awayTeam = Country.of(args[1]);
-        
-        if (!scoreboard.hasGame(homeTeam, awayTeam)) {
-            throw new IllegalArgumentException("Game not found");
-        }
-        
+    private void finishGame(Scoreboard scoreboard, MutableCommand command) {
+        Country homeTeam = command.getHomeTeam();
+        Country awayTeam = command.getAwayTeam();
+
         scoreboard.finishGame(homeTeam, awayTeam);
-        System.out.println("Game finished: " + homeTeam + " vs " + awayTeam);
+        if (confirmCommands) {
+            out.println("Game finished: " + homeTeam + " vs " + awayTeam);
+        }
     }
 
-    private void displaySummary() {
-        List<Game> games = scoreboard.getGameSummary();
-        if (games.isEmpty()) {
-            System.out.println("No games in progress");
+    private void displaySummary(Scoreboard scoreboard, int limit) {
+        if (limit != MutableCommand.ALL_GAMES) {
+            out.print(RenderedSummary.render(scoreboard.getTopN(limit)));
             return;
         }
+        ScoreboardSnapshot snapshot = scoreboard.getSnapshot();
+        if (summaryScoreboard != scoreboard || summary.getVersion() != snapshot.getVersion()) {
+            summary = RenderedSummary.of(snapshot);
+            summaryScoreboard = scoreboard;
+            metrics.summaryRendered(summary.getBytes().length);
+        }
+        // One write in the stream's own charset instead of one println per game
+        out.print(summary.getText());
+    }
 
-        System.out.println("Game Summary:");
-        games.forEach(game -> System.out.println(game));
+    private void displayResults(Scoreboard scoreboard, Country country) {
+        if (scoreboard != defaultScoreboard) {
+            throw new IllegalArgumentException("Results are only kept for the default competition");
+        }
+        out.print(GameArchive.render(country == null ? archive.getTodaysResults() : archive.getResults(country)));
     }
 
     private void displayWelcome() {
-        System.out.println("Welcome to Live Scoreboard");
-        System.out.println("------------------------");
+        out.println("Welcome to Live Scoreboard");
+        out.println("------------------------");
     }
 
     private void displayHelp() {
-        System.out.println("Available commands:");
-        System.out.println("  start <home_team> <away_team>");
-        System.out.println("  update <home_team> <away_team> <home_score> <away_score>");
-        System.out.println("  finish <home_team> <away_team>");
-        System.out.println("  summary");
-        System.out.println("  exit");
-        System.out.println("------------------------");
+        out.println("Available commands:");
+        out.println("  start <home_team> <away_team>");
+        out.println("  update <home_team> <away_team> <home_score> <away_score>");
+        out.println("  finish <home_team> <away_team>");
+        out.println("  summary [number_of_games]");
+        out.println("  metrics");
+        out.println("  results [country]");
+        out.println("  exit");
+        out.println("Quote team names that contain spaces, e.g. start \"United States\" Mexico");
+        out.println("Prefix a command with @<competition> to run it in another competition, e.g. @euro summary");
+        out.println("------------------------");
     }
 
     private void displayPrompt() {
-        System.out.print("> ");
+        out.print("> ");
     }
 
     public static void main(String[] args) {
-        new LiveScoreboard().start();
+        LaunchOptions options;
+        try {
+            options = LaunchOptions.parse(args == null ? new String[0] : args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println(LaunchOptions.USAGE);
+            return;
+        }
+
+        // The HTTP server handles requests concurrently, and coalesced updates are applied on a
+        // timer thread while the console reads
+        GameArchive archive = new GameArchive();
+        Scoreboard scoreboard;
+        if (options.getPartitions() > 0) {
+            scoreboard = new PartitionedScoreboard(options.getPartitions(), archive);
+        } else {
+            scoreboard = options.isHttp() || options.isCoalescing() ? new ConcurrentScoreboard(archive)
+                : options.isArrayStorage() ? new ArrayScoreboard(archive) : new InMemoryScoreboard(archive);
+        }
+        JournalingScoreboard journaling = null;
+        CoalescingScoreboard coalescing = null;
+        // Set once the shutdown hook of the HTTP server is the one to close them
+        boolean closedOnShutdown = false;
+        try {
+            if (options.getJournalFile() != null) {
+                journaling = JournalingScoreboard.open(options.getJournalFile(), scoreboard, archive);
+                journaling.scheduleSnapshots(options.getSnapshotInterval());
+                scoreboard = journaling;
+            }
+            if (options.isCoalescing()) {
+                // Outside the journal, so only the applied updates are journaled
+                coalescing = new CoalescingScoreboard(scoreboard, options.getCoalesceWindow(), MAX_PENDING_MATCHES);
+                scoreboard = coalescing;
+            }
+            ScoreboardMetrics metrics = new ScoreboardMetrics();
+            if (options.isHttp()) {
+                CountDownLatch stopped = serveHttp(new MeteredScoreboard(scoreboard, metrics), archive, coalescing,
+                    journaling, options.getHttpPort());
+                closedOnShutdown = true;
+                stopped.await();
+            } else if (options.isBatch()) {
+                runBatch(scoreboard, archive, metrics, options.getIdleTimeout(), options.getBatchFile());
+            } else {
+                new LiveScoreboard(scoreboard, archive, metrics, options.getIdleTimeout(), System.out, true).start();
+            }
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (!closedOnShutdown) {
+                close(coalescing, journaling);
+            }
+        }
+    }
+
+    // Pending updates are applied before the journal is closed
+    private static void close(CoalescingScoreboard coalescing, JournalingScoreboard journaling) {
+        if (coalescing != null) {
+            coalescing.close();
+        }
+        if (journaling != null) {
+            try {
+                journaling.close();
+            } catch (IOException e) {
+                System.err.println("Error: " + e.getMessage());
+            }
+        }
+    }
+
+    // Serves until the process is stopped, which releases the returned latch; the journal is closed
+    // by the shutdown hook alone, because the JVM may halt before the main thread gets to it
+    private static CountDownLatch serveHttp(Scoreboard scoreboard, GameArchive archive,
+                                            CoalescingScoreboard coalescing, JournalingScoreboard journaling,
+                                            int port) throws IOException {
+        ScoreboardHttpServer server = ScoreboardHttpServer.start(scoreboard, archive, new InetSocketAddress(port));
+        System.out.println("Serving live scoreboard on http://localhost:" + server.getPort() + "/summary");
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            close(coalescing, journaling);
+            stopped.countDown();
+        }));
+        return stopped;
+    }
+
+    private static void runBatch(Scoreboard scoreboard, GameArchive archive, ScoreboardMetrics metrics,
+                                 Duration idleTimeout, Path batchFile) throws IOException {
+        PrintStream out = new PrintStream(new BufferedOutputStream(System.out, BATCH_BUFFER_SIZE),
+            false, StandardCharsets.UTF_8);
+        try (InputStream input = batchFile != null ? Files.newInputStream(batchFile) : System.in;
+             BufferedReader reader = new BufferedReader(
+                 new InputStreamReader(input, StandardCharsets.UTF_8), BATCH_BUFFER_SIZE)) {
+            new LiveScoreboard(scoreboard, archive, metrics, idleTimeout, out, false).runBatch(reader);
+        }
     }
-} 
\ No newline at end of file
+}
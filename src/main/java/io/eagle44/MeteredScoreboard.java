@@ -0,0 +1,149 @@
+package io.eagle44;
+
+import java.util.List;
+
+/**
+ * Scoreboard that records the outcome and latency of every call to the wrapped scoreboard in
+ * {@link ScoreboardMetrics}. Summary reads ({@link #getSnapshot()}, {@link #getGameSummary()} and
+ * {@link #getTopN(int)}) are all recorded as {@link ScoreboardMetrics.Operation#SUMMARY}.
+ */
+public final class MeteredScoreboard implements Scoreboard {
+    private final Scoreboard delegate;
+    private final ScoreboardMetrics metrics;
+
+    public MeteredScoreboard(Scoreboard delegate, ScoreboardMetrics metrics) {
+        if (delegate == null || metrics == null) {
+            throw new IllegalArgumentException("Scoreboard and metrics cannot be null");
+        }
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    public ScoreboardMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * The metrics in the Prometheus text format. Reading the live game count for it is not
+     * recorded as a summary read.
+     */
+    public String renderMetrics() {
+        return metrics.render(delegate);
+    }
+
+    @Override
+    public Game startGame(Country homeTeam, Country awayTeam) {
+        if (!metrics.isEnabled()) {
+            return delegate.startGame(homeTeam, awayTeam);
+        }
+        long start = System.nanoTime();
+        boolean successful = false;
+        try {
+            Game game = delegate.startGame(homeTeam, awayTeam);
+            successful = true;
+            return game;
+        } finally {
+            metrics.record(ScoreboardMetrics.Operation.START, System.nanoTime() - start, successful);
+        }
+    }
+
+    @Override
+    public void updateScore(Country homeTeam, Country awayTeam, int homeScore, int awayScore) {
+        if (!metrics.isEnabled()) {
+            delegate.updateScore(homeTeam, awayTeam, homeScore, awayScore);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean successful = false;
+        try {
+            delegate.updateScore(homeTeam, awayTeam, homeScore, awayScore);
+            successful = true;
+        } finally {
+            metrics.record(ScoreboardMetrics.Operation.UPDATE, System.nanoTime() - start, successful);
+        }
+    }
+
+    @Override
+    public void finishGame(Country homeTeam, Country awayTeam) {
+        if (!metrics.isEnabled()) {
+            delegate.finishGame(homeTeam, awayTeam);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean successful = false;
+        try {
+            delegate.finishGame(homeTeam, awayTeam);
+            successful = true;
+        } finally {
+            metrics.record(ScoreboardMetrics.Operation.FINISH, System.nanoTime() - start, successful);
+        }
+    }
+
+    @Override
+    public boolean hasGame(Country homeTeam, Country awayTeam) {
+        return delegate.hasGame(homeTeam, awayTeam);
+    }
+
+    @Override
+    public List<CommandResult> applyBatch(List<Command> commands) {
+        if (!metrics.isEnabled()) {
+            return delegate.applyBatch(commands);
+        }
+        long start = System.nanoTime();
+        boolean successful = false;
+        try {
+            List<CommandResult> results = delegate.applyBatch(commands);
+            successful = true;
+            return results;
+        } finally {
+            metrics.record(ScoreboardMetrics.Operation.BATCH, System.nanoTime() - start, successful);
+        }
+    }
+
+    @Override
+    public List<Game> getGameSummary() {
+        return getSnapshot().getGames();
+    }
+
+    @Override
+    public ScoreboardSnapshot getSnapshot() {
+        if (!metrics.isEnabled()) {
+            return delegate.getSnapshot();
+        }
+        long start = System.nanoTime();
+        boolean successful = false;
+        try {
+            ScoreboardSnapshot snapshot = delegate.getSnapshot();
+            successful = true;
+            return snapshot;
+        } finally {
+            metrics.record(ScoreboardMetrics.Operation.SUMMARY, System.nanoTime() - start, successful);
+        }
+    }
+
+    @Override
+    public List<Game> getTopN(int n) {
+        if (!metrics.isEnabled()) {
+            return delegate.getTopN(n);
+        }
+        long start = System.nanoTime();
+        boolean successful = false;
+        try {
+            List<Game> games = delegate.getTopN(n);
+            successful = true;
+            return games;
+        } finally {
+            metrics.record(ScoreboardMetrics.Operation.SUMMARY, System.nanoTime() - start, successful);
+        }
+    }
+
+    @Override
+    public int getGameCount() {
+        return delegate.getGameCount();
+    }
+
+    @Override
+    public ScoreboardEventPublisher events() {
+        return delegate.events();
+    }
+}
@@ -0,0 +1,87 @@
+package io.eagle44;
+
+/**
+ * Reusable holder for an already parsed and validated command, filled by {@link CommandTokenizer}.
+ * Fields that the command type does not use are left at their reset values; a results query keeps
+ * its country, if any, as the home team.
+ */
+public final class MutableCommand {
+    public static final int ALL_GAMES = Integer.MAX_VALUE;
+
+    private CommandType type;
+    private Country homeTeam;
+    private Country awayTeam;
+    private int homeScore;
+    private int awayScore;
+    private int summaryLimit = ALL_GAMES;
+
+    void reset() {
+        type = null;
+        homeTeam = null;
+        awayTeam = null;
+        homeScore = 0;
+        awayScore = 0;
+        summaryLimit = ALL_GAMES;
+    }
+
+    void set(CommandType type, Country homeTeam, Country awayTeam, int homeScore, int awayScore) {
+        this.type = type;
+        this.homeTeam = homeTeam;
+        this.awayTeam = awayTeam;
+        this.homeScore = homeScore;
+        this.awayScore = awayScore;
+        this.summaryLimit = ALL_GAMES;
+    }
+
+    void setSummary(int summaryLimit) {
+        set(CommandType.SUMMARY, null, null, 0, 0);
+        this.summaryLimit = summaryLimit;
+    }
+
+    public CommandType getType() {
+        return type;
+    }
+
+    public Country getHomeTeam() {
+        return homeTeam;
+    }
+
+    public Country getAwayTeam() {
+        return awayTeam;
+    }
+
+    public int getHomeScore() {
+        return homeScore;
+    }
+
+    public int getAwayScore() {
+        return awayScore;
+    }
+
+    /**
+     * Number of games a summary command shows, {@link #ALL_GAMES} unless limited.
+     */
+    public int getSummaryLimit() {
+        return summaryLimit;
+    }
+
+    public Command toCommand() {
+        return switch (type) {
+            case START, FINISH -> Command.create(type.getKeyword(), homeTeam.getName(), awayTeam.getName());
+            case UPDATE -> Command.create(type.getKeyword(), homeTeam.getName(), awayTeam.getName(),
+                String.valueOf(homeScore), String.valueOf(awayScore));
+            case SUMMARY -> summaryLimit == ALL_GAMES
+                ? Command.create(type.getKeyword())
+                : Command.create(type.getKeyword(), String.valueOf(summaryLimit));
+            case METRICS -> Command.create(type.getKeyword());
+            case RESULTS -> homeTeam == null
+                ? Command.create(type.getKeyword())
+                : Command.create(type.getKeyword(), homeTeam.getName());
+        };
+    }
+
+    @Override
+    public String toString() {
+        return type == null ? "" : toCommand().toString();
+    }
+}
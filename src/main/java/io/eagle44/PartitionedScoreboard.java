@@ -0,0 +1,504 @@
+package io.eagle44;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe scoreboard that splits the matches by {@link GameKeys game key} across partitions,
+ * each owned by one worker thread holding an {@link InMemoryScoreboard}. Callers hand their
+ * commands to the owning worker through a bounded ring buffer and wait for the outcome, so the
+ * games of a partition are only ever touched by its worker and writes to different partitions
+ * share nothing.
+ * <p>
+ * The summary is the k-way merge of the partitions' sorted summaries and is only rebuilt after a
+ * write. Batches stop every worker while they are applied, so readers see either none or all of a
+ * batch. Events are ranked on their first read, from the merged summary as of that read, so the
+ * workers do nothing for ranks while they write.
+ */
+public final class PartitionedScoreboard implements Scoreboard, AutoCloseable {
+    static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    // Busy-waiting this often before parking bridges the hand-off to a running thread
+    private static final int SPINS = 256;
+
+    private enum Operation {
+        START, RESTORE, UPDATE, FINISH, HAS_GAME, TOP_N, SNAPSHOT, BARRIER
+    }
+
+    private final Partition[] partitions;
+    // A caller waits for one command at a time, so its request is reused
+    private final ThreadLocal<Request> requests = ThreadLocal.withInitial(Request::new);
+    private final AtomicReference<ScoreboardSnapshot> snapshot = new AtomicReference<>(ScoreboardSnapshot.EMPTY);
+    // Batches stop every partition, and two of them stopping partitions in turn would deadlock
+    private final ReentrantLock batchLock = new ReentrantLock();
+    // Set while a batch holds every partition, so it applies its commands itself
+    private volatile Thread batchThread;
+    private volatile ScoreboardEventPublisher publisher;
+    private volatile boolean closed;
+
+    public PartitionedScoreboard(int partitionCount) {
+        this(partitionCount, DEFAULT_QUEUE_CAPACITY, null);
+    }
+
+    /**
+     * Scoreboard that keeps the results of finished games in {@code archive}, shared by all
+     * partitions.
+     */
+    public PartitionedScoreboard(int partitionCount, GameArchive archive) {
+        this(partitionCount, DEFAULT_QUEUE_CAPACITY, archive);
+    }
+
+    /**
+     * @param queueCapacity commands each partition holds before callers wait, a power of two
+     */
+    public PartitionedScoreboard(int partitionCount, int queueCapacity) {
+        this(partitionCount, queueCapacity, null);
+    }
+
+    private PartitionedScoreboard(int partitionCount, int queueCapacity, GameArchive archive) {
+        if (partitionCount < 1) {
+            throw new IllegalArgumentException("Partition count must be positive");
+        }
+        if (queueCapacity < 1 || Integer.bitCount(queueCapacity) != 1) {
+            throw new IllegalArgumentException("Queue capacity must be a power of two");
+        }
+        partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition(i, queueCapacity, archive);
+        }
+        for (Partition partition : partitions) {
+            partition.worker.start();
+        }
+    }
+
+    public int getPartitionCount() {
+        return partitions.length;
+    }
+
+    @Override
+    public Game startGame(Country homeTeam, Country awayTeam) {
+        Request request = request(Operation.START, homeTeam, awayTeam);
+        return (Game) call(partitionOf(homeTeam, awayTeam), request).result;
+    }
+
+    /**
+     * Starts {@code game} as it was restored from a snapshot, score and start time included.
+     */
+    void restoreGame(Game game) {
+        Request request = request(Operation.RESTORE, game.getHomeTeam(), game.getAwayTeam());
+        request.game = game;
+        call(partitionOf(game.getHomeTeam(), game.getAwayTeam()), request);
+    }
+
+    @Override
+    public void updateScore(Country homeTeam, Country awayTeam, int homeScore, int awayScore) {
+        Request request = request(Operation.UPDATE, homeTeam, awayTeam);
+        request.homeScore = homeScore;
+        request.awayScore = awayScore;
+        call(partitionOf(homeTeam, awayTeam), request);
+    }
+
+    @Override
+    public void finishGame(Country homeTeam, Country awayTeam) {
+        call(partitionOf(homeTeam, awayTeam), request(Operation.FINISH, homeTeam, awayTeam));
+    }
+
+    @Override
+    public boolean hasGame(Country homeTeam, Country awayTeam) {
+        return call(partitionOf(homeTeam, awayTeam), request(Operation.HAS_GAME, homeTeam, awayTeam)).found;
+    }
+
+    @Override
+    public List<CommandResult> applyBatch(List<Command> commands) {
+        batchLock.lock();
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            Request[] barriers = new Request[partitions.length];
+            try {
+                for (int i = 0; i < partitions.length; i++) {
+                    barriers[i] = new Request();
+                    barriers[i].operation = Operation.BARRIER;
+                    barriers[i].release = release;
+                    barriers[i].waiter = Thread.currentThread();
+                    partitions[i].submit(barriers[i]);
+                }
+                for (int i = 0; i < partitions.length; i++) {
+                    partitions[i].await(barriers[i]);
+                }
+                // Every worker now waits for the release, which also publishes the batch to them
+                batchThread = Thread.currentThread();
+                CommandBatch batch = CommandBatch.plan(commands, gameKey -> partitions[indexOf(gameKey)].scoreboard
+                    .hasGame(GameKeys.homeTeam(gameKey), GameKeys.awayTeam(gameKey)));
+                batch.applyTo(this);
+                return batch.getResults();
+            } finally {
+                batchThread = null;
+                release.countDown();
+            }
+        } finally {
+            batchLock.unlock();
+        }
+    }
+
+    @Override
+    public ScoreboardSnapshot getSnapshot() {
+        long version = 0;
+        for (Partition partition : partitions) {
+            version += partition.version;
+        }
+        ScoreboardSnapshot current = snapshot.get();
+        if (current.getVersion() == version) {
+            return current;
+        }
+        List<ScoreboardSnapshot> snapshots = collect(Operation.SNAPSHOT, 0);
+        List<List<Game>> sorted = new ArrayList<>(partitions.length);
+        long mergedVersion = 0;
+        for (ScoreboardSnapshot partitionSnapshot : snapshots) {
+            sorted.add(partitionSnapshot.getGames());
+            mergedVersion += partitionSnapshot.getVersion();
+        }
+        ScoreboardSnapshot merged = new ScoreboardSnapshot(mergedVersion, merge(sorted, Integer.MAX_VALUE));
+        return snapshot.accumulateAndGet(merged,
+            (published, candidate) -> candidate.isNewerThan(published.getVersion()) ? candidate : published);
+    }
+
+    @Override
+    public List<Game> getTopN(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Number of games cannot be negative");
+        }
+        return merge(collect(Operation.TOP_N, n), n);
+    }
+
+    @Override
+    public int getGameCount() {
+        int count = 0;
+        for (Partition partition : partitions) {
+            count += partition.gameCount;
+        }
+        return count;
+    }
+
+    @Override
+    public ScoreboardEventPublisher events() {
+        ScoreboardEventPublisher events = publisher;
+        if (events == null) {
+            synchronized (this) {
+                if (publisher == null) {
+                    publisher = new ScoreboardEventPublisher();
+                }
+                events = publisher;
+            }
+        }
+        return events;
+    }
+
+    // The summary events are ranked from; once closed, the last one merged
+    private ScoreboardSnapshot rankingSummary() {
+        return closed ? snapshot.get() : getSnapshot();
+    }
+
+    /**
+     * Lets the workers finish the commands already queued and stops them. Commands submitted
+     * afterwards fail with an {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Partition partition : partitions) {
+            LockSupport.unpark(partition.worker);
+        }
+        for (Partition partition : partitions) {
+            try {
+                partition.worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Merges lists sorted in {@link Game#SUMMARY_ORDER} into the first {@code limit} games of
+     * their union, keeping the head of every list in a binary heap.
+     */
+    static List<Game> merge(List<? extends List<Game>> sorted, int limit) {
+        int total = 0;
+        for (List<Game> games : sorted) {
+            total += games.size();
+        }
+        int size = Math.min(total, limit);
+        List<Game> merged = new ArrayList<>(size);
+        int[] heap = new int[sorted.size()];
+        int[] cursors = new int[sorted.size()];
+        int heapSize = 0;
+        for (int list = 0; list < sorted.size(); list++) {
+            if (!sorted.get(list).isEmpty()) {
+                heap[heapSize++] = list;
+            }
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(heap, heapSize, i, sorted, cursors);
+        }
+        while (merged.size() < size) {
+            int list = heap[0];
+            merged.add(sorted.get(list).get(cursors[list]++));
+            if (cursors[list] == sorted.get(list).size()) {
+                heap[0] = heap[--heapSize];
+            }
+            siftDown(heap, heapSize, 0, sorted, cursors);
+        }
+        return Collections.unmodifiableList(merged);
+    }
+
+    private static void siftDown(int[] heap, int heapSize, int index, List<? extends List<Game>> sorted, int[] cursors) {
+        while (true) {
+            int smallest = index;
+            for (int child = 2 * index + 1; child <= 2 * index + 2 && child < heapSize; child++) {
+                if (compareHeads(heap[child], heap[smallest], sorted, cursors) < 0) {
+                    smallest = child;
+                }
+            }
+            if (smallest == index) {
+                return;
+            }
+            int swapped = heap[index];
+            heap[index] = heap[smallest];
+            heap[smallest] = swapped;
+            index = smallest;
+        }
+    }
+
+    private static int compareHeads(int first, int second, List<? extends List<Game>> sorted, int[] cursors) {
+        return Game.SUMMARY_ORDER.compare(sorted.get(first).get(cursors[first]), sorted.get(second).get(cursors[second]));
+    }
+
+    // Asks every partition at once, then waits for all of them
+    @SuppressWarnings("unchecked")
+    private <T> List<T> collect(Operation operation, int limit) {
+        Request[] pending = new Request[partitions.length];
+        for (int i = 0; i < partitions.length; i++) {
+            pending[i] = new Request();
+            pending[i].operation = operation;
+            pending[i].limit = limit;
+            pending[i].waiter = Thread.currentThread();
+            partitions[i].submit(pending[i]);
+        }
+        List<T> results = new ArrayList<>(partitions.length);
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i].await(pending[i]);
+            results.add((T) pending[i].result);
+        }
+        return results;
+    }
+
+    private Request request(Operation operation, Country homeTeam, Country awayTeam) {
+        Request request = requests.get();
+        request.operation = operation;
+        request.homeTeam = homeTeam;
+        request.awayTeam = awayTeam;
+        return request;
+    }
+
+    private Request call(Partition partition, Request request) {
+        if (batchThread == Thread.currentThread()) {
+            partition.execute(request);
+        } else {
+            request.waiter = Thread.currentThread();
+            partition.submit(request);
+            partition.await(request);
+        }
+        RuntimeException error = request.error;
+        if (error != null) {
+            request.error = null;
+            throw error;
+        }
+        return request;
+    }
+
+    private Partition partitionOf(Country homeTeam, Country awayTeam) {
+        return partitions[indexOf(GameKeys.of(homeTeam, awayTeam))];
+    }
+
+    private int indexOf(int gameKey) {
+        return ((gameKey * 0x9E3779B9) >>> 1) % partitions.length;
+    }
+
+    private static final class Request {
+        private Operation operation;
+        private Country homeTeam;
+        private Country awayTeam;
+        private int homeScore;
+        private int awayScore;
+        private int limit;
+        // Game to restore
+        private Game game;
+        private CountDownLatch release;
+        private Object result;
+        private boolean found;
+        private RuntimeException error;
+        private Thread waiter;
+        private volatile boolean parked;
+        private volatile boolean done;
+    }
+
+    private final class Partition implements Runnable {
+        private final InMemoryScoreboard scoreboard;
+        private final AtomicReferenceArray<Request> ring;
+        private final int mask;
+        private final AtomicLong tail = new AtomicLong();
+        private final Thread worker;
+        // Next sequence the worker takes; slots below it are free again
+        private volatile long head;
+        private volatile boolean sleeping;
+        private volatile long version;
+        private volatile int gameCount;
+
+        Partition(int index, int capacity, GameArchive archive) {
+            scoreboard = new InMemoryScoreboard(archive);
+            ring = new AtomicReferenceArray<>(capacity);
+            mask = capacity - 1;
+            worker = new Thread(this, "scoreboard-partition-" + index);
+            worker.setDaemon(true);
+        }
+
+        void submit(Request request) {
+            if (closed) {
+                throw new IllegalStateException("Scoreboard is closed");
+            }
+            long sequence = tail.getAndIncrement();
+            // The queue is full until the worker takes the command a lap ahead of this one
+            for (int spins = 0; sequence - head >= ring.length(); spins++) {
+                if (spins < SPINS) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+            ring.set((int) sequence & mask, request);
+            if (sleeping) {
+                LockSupport.unpark(worker);
+            }
+        }
+
+        void await(Request request) {
+            for (int spins = 0; !request.done; spins++) {
+                if (spins < SPINS) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                if (!worker.isAlive()) {
+                    throw new IllegalStateException("Scoreboard is closed");
+                }
+                request.parked = true;
+                if (!request.done) {
+                    LockSupport.park(this);
+                }
+                request.parked = false;
+            }
+            request.done = false;
+        }
+
+        @Override
+        public void run() {
+            long next = 0;
+            int idle = 0;
+            while (true) {
+                int slot = (int) next & mask;
+                Request request = ring.get(slot);
+                if (request == null) {
+                    if (closed && tail.get() == next) {
+                        return;
+                    }
+                    if (++idle < SPINS) {
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    sleeping = true;
+                    if (ring.get(slot) == null && !closed) {
+                        LockSupport.park(this);
+                    }
+                    sleeping = false;
+                    continue;
+                }
+                idle = 0;
+                ring.set(slot, null);
+                head = ++next;
+                execute(request);
+                if (request.operation == Operation.BARRIER) {
+                    awaitRelease(request.release);
+                }
+            }
+        }
+
+        void execute(Request request) {
+            try {
+                switch (request.operation) {
+                    case START -> {
+                        Game game = scoreboard.startGame(request.homeTeam, request.awayTeam);
+                        request.result = game;
+                        written(ScoreboardEvent.Type.GAME_STARTED, null, game);
+                    }
+                    case RESTORE -> {
+                        scoreboard.restoreGame(request.game);
+                        written(ScoreboardEvent.Type.GAME_STARTED, null, request.game);
+                    }
+                    case UPDATE -> {
+                        Game previousGame = publisher != null
+                            ? scoreboard.findGame(request.homeTeam, request.awayTeam) : null;
+                        scoreboard.updateScore(request.homeTeam, request.awayTeam, request.homeScore, request.awayScore);
+                        written(ScoreboardEvent.Type.SCORE_CHANGED, previousGame,
+                            publisher != null ? scoreboard.findGame(request.homeTeam, request.awayTeam) : null);
+                    }
+                    case FINISH -> {
+                        Game previousGame = publisher != null
+                            ? scoreboard.findGame(request.homeTeam, request.awayTeam) : null;
+                        scoreboard.finishGame(request.homeTeam, request.awayTeam);
+                        written(ScoreboardEvent.Type.GAME_FINISHED, previousGame, null);
+                    }
+                    case HAS_GAME -> request.found = scoreboard.hasGame(request.homeTeam, request.awayTeam);
+                    case TOP_N -> request.result = scoreboard.getTopN(request.limit);
+                    case SNAPSHOT -> request.result = scoreboard.getSnapshot();
+                    case BARRIER -> {
+                        // Released by the batch once it is applied
+                    }
+                }
+            } catch (RuntimeException e) {
+                request.error = e;
+            }
+            if (batchThread != Thread.currentThread()) {
+                request.done = true;
+                if (request.parked) {
+                    LockSupport.unpark(request.waiter);
+                }
+            }
+        }
+
+        // previousGame is null for starts and game is null for finishes
+        private void written(ScoreboardEvent.Type type, Game previousGame, Game game) {
+            version = scoreboard.getVersion();
+            gameCount = scoreboard.getGameCount();
+            ScoreboardEventPublisher events = publisher;
+            if (events != null && events.hasSubscribers()) {
+                events.publish(type, previousGame, game, PartitionedScoreboard.this::rankingSummary);
+            }
+        }
+
+        private void awaitRelease(CountDownLatch release) {
+            while (true) {
+                try {
+                    release.await();
+                    return;
+                } catch (InterruptedException e) {
+                    // Keep holding the partition until the batch is done
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.eagle44;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Summary text of one {@link ScoreboardSnapshot}, rendered once and shared by every reader of
+ * that version. Games are appended field by field into one builder sized up front, without going
+ * through {@link Game#toString()} and its {@code String.format}.
+ */
+final class RenderedSummary {
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    // Fits the two longest country names with two-digit scores, so the builder never grows for
+    // real matches
+    private static final int LINE_CAPACITY =
+        2 * AcceptedCountries.maxNameLength() + " 00 - 00 ".length() + LINE_SEPARATOR.length();
+
+    private final long version;
+    private final String text;
+    private final byte[] bytes;
+
+    private RenderedSummary(long version, String text) {
+        this.version = version;
+        this.text = text;
+        this.bytes = text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static RenderedSummary of(ScoreboardSnapshot snapshot) {
+        return new RenderedSummary(snapshot.getVersion(), render(snapshot.getGames()));
+    }
+
+    /**
+     * Summary text of {@code games}, for summaries that are not shared, such as the first games only.
+     */
+    static String render(List<Game> games) {
+        if (games.isEmpty()) {
+            return "No games in progress" + LINE_SEPARATOR;
+        }
+        StringBuilder text = new StringBuilder(16 + games.size() * LINE_CAPACITY);
+        text.append("Game Summary:").append(LINE_SEPARATOR);
+        for (Game game : games) {
+            text.append(game.getHomeTeam().getName()).append(' ')
+                .append(game.getHomeScore()).append(" - ").append(game.getAwayScore()).append(' ')
+                .append(game.getAwayTeam().getName()).append(LINE_SEPARATOR);
+        }
+        return text.toString();
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    String getText() {
+        return text;
+    }
+
+    /**
+     * The text in UTF-8. Shared, so callers must not modify it.
+     */
+    byte[] getBytes() {
+        return bytes;
+    }
+}
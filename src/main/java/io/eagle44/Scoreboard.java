@@ -1,55 +1,53 @@
 package io.eagle44;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.List;
 
-public final class Scoreboard {
-    private final Map<String, Game> games;
+public interface Scoreboard {
+    Game startGame(Country homeTeam, Country awayTeam);
 
-    public Scoreboard() {
-        this.games = new HashMap<>();
-    }
+    void updateScore(Country homeTeam, Country awayTeam, int homeScore, int awayScore);
 
-    public Game startGame(Country homeTeam, Country awayTeam) {
-        String gameKey = createGameKey(homeTeam, awayTeam);
-        if (games.containsKey(gameKey)) {
-            throw new IllegalArgumentException("Game already exists");
-        }
-        Game game = Game.start(homeTeam, awayTeam);
-        games.put(gameKey, game);
-        return game;
-    }
+    void finishGame(Country homeTeam, Country awayTeam);
 
-    public void updateScore(Country homeTeam, Country awayTeam, int homeScore, int awayScore) {
-        String gameKey = createGameKey(homeTeam, awayTeam);
-        Game existingGame = games.get(gameKey);
-        if (existingGame == null) {
-            throw new IllegalArgumentException("Game not found");
-        }
-        games.put(gameKey, existingGame.updateScore(homeScore, awayScore));
-    }
+    boolean hasGame(Country homeTeam, Country awayTeam);
 
-    public void finishGame(Country homeTeam, Country awayTeam) {
-        String gameKey = createGameKey(homeTeam, awayTeam);
-        if (!games.containsKey(gameKey)) {
-            throw new IllegalArgumentException("Game not found");
-        }
-        games.remove(gameKey);
-    }
+    /**
+     * Validates all commands first, then applies the valid ones. Updates of the same match are
+     * merged into one, also when commands of other matches come between them. Readers see either
+     * none or all of the batch. Summary commands cannot be batched.
+     *
+     * @return one result per command, in the order of the commands
+     */
+    List<CommandResult> applyBatch(List<Command> commands);
 
-    public List<Game> getGameSummary() {
-        return games.values().stream()
-            .sorted(Comparator
-                .comparing(Game::getTotalScore).reversed()
-                .thenComparing(Game::getStartTime).reversed())
-            .collect(Collectors.toList());
+    /**
+     * Live games ordered by total score (highest first), then by most recently started.
+     */
+    default List<Game> getGameSummary() {
+        return getSnapshot().getGames();
     }
 
-    private String createGameKey(Country homeTeam, Country awayTeam) {
-        return homeTeam.getName() + " vs " + awayTeam.getName();
+    /**
+     * The current summary together with its version. It includes every change applied before the
+     * call, and repeated calls without writes in between return the same instance.
+     */
+    ScoreboardSnapshot getSnapshot();
+
+    /**
+     * Number of live games.
+     */
+    default int getGameCount() {
+        return getSnapshot().getGames().size();
     }
 
-    public boolean hasGame(Country homeTeam, Country awayTeam) {
-        return games.containsKey(createGameKey(homeTeam, awayTeam));
-    }
-} 
\ No newline at end of file
+    /**
+     * The first {@code n} games of {@link #getGameSummary()}. Scoreboards that keep no ranking
+     * select them in O(live games * log n) without sorting every game.
+     */
+    List<Game> getTopN(int n);
+
+    /**
+     * Events for every game started, updated or finished from the moment of subscribing.
+     */
+    ScoreboardEventPublisher events();
+}
@@ -0,0 +1,117 @@
+package io.eagle44;
+
+import java.util.function.Supplier;
+
+/**
+ * Change of one game, as published by {@link Scoreboard#events()}. Ranks are positions in
+ * {@link Scoreboard#getGameSummary()}, starting at 1, before and after the change.
+ * <p>
+ * Scoreboards that cannot rank a change while making it leave the ranks to the first read of
+ * either of them, which counts the games of the other matches ranking above the game in the summary
+ * as of that read. Read promptly, that is the summary right after the change; read later, the ranks
+ * can already reflect later changes of other games.
+ */
+public final class ScoreboardEvent {
+    /**
+     * Rank of a game that is not on the scoreboard, or whose rank the scoreboard does not track.
+     */
+    public static final int NO_RANK = -1;
+
+    public enum Type {
+        GAME_STARTED,
+        SCORE_CHANGED,
+        GAME_FINISHED,
+        /**
+         * Changes were lost because the subscriber fell too far behind; it has to read the summary
+         * again. Carries no game.
+         */
+        EVENTS_LOST
+    }
+
+    private final Type type;
+    private final Game game;
+    // The game before the change, kept only to rank it on first read; null for starts
+    private final Game previousGame;
+    // Summary to rank on first read from, or null when the ranks were known when publishing
+    private final Supplier<ScoreboardSnapshot> summary;
+    // Concurrent first reads may both rank; the ranks either of them keeps are shared from then on
+    private volatile Ranks ranks;
+    // Position in the publisher's event sequence
+    private final long position;
+    // Encoded on first use and then shared by every connection streaming this event
+    private volatile byte[] serverSentEvent;
+
+    ScoreboardEvent(Type type, Game game, int previousRank, int rank, long position) {
+        this.type = type;
+        this.game = game;
+        this.previousGame = null;
+        this.summary = null;
+        this.ranks = new Ranks(previousRank, rank);
+        this.position = position;
+    }
+
+    /**
+     * Event ranked on first read from {@code summary}, which has to include the change by then.
+     * {@code previousGame} is null for starts and {@code game} for finishes.
+     */
+    ScoreboardEvent(Type type, Game previousGame, Game game, Supplier<ScoreboardSnapshot> summary, long position) {
+        this.type = type;
+        this.game = game != null ? game : previousGame;
+        this.previousGame = previousGame;
+        this.summary = summary;
+        this.position = position;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * The game after the change; the final state for a finished game, and null when events were
+     * lost.
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    public int getPreviousRank() {
+        return ranks().previous();
+    }
+
+    public int getRank() {
+        return ranks().current();
+    }
+
+    long getPosition() {
+        return position;
+    }
+
+    byte[] toServerSentEvent() {
+        byte[] encoded = serverSentEvent;
+        if (encoded == null) {
+            // Concurrent first uses may both encode; either result is the same
+            encoded = ServerSentEventStream.encode(this);
+            serverSentEvent = encoded;
+        }
+        return encoded;
+    }
+
+    private Ranks ranks() {
+        Ranks known = ranks;
+        if (known == null) {
+            ScoreboardSnapshot current = summary.get();
+            known = new Ranks(previousGame != null ? current.rankOf(previousGame) : NO_RANK,
+                type != Type.GAME_FINISHED ? current.rankOf(game) : NO_RANK);
+            ranks = known;
+        }
+        return known;
+    }
+
+    @Override
+    public String toString() {
+        return game == null ? type.toString() : type + " " + game;
+    }
+
+    private record Ranks(int previous, int current) {
+    }
+}
@@ -0,0 +1,252 @@
+package io.eagle44;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Publishes {@link ScoreboardEvent}s to any number of subscribers without making writers wait
+ * for them.
+ * <p>
+ * A writer only stores the event in a ring shared by all subscribers and wakes the dispatcher
+ * thread. The dispatcher schedules delivery, on a virtual thread, to every subscriber that has
+ * demand; each subscriber reads the ring at its own cursor. A subscriber that falls more than its
+ * buffer size behind either loses the oldest events or gets only the latest event per match,
+ * depending on its {@link OverflowPolicy}.
+ */
+public final class ScoreboardEventPublisher implements Flow.Publisher<ScoreboardEvent> {
+    public static final int DEFAULT_BUFFER_SIZE = 256;
+    private static final int RING_SIZE = 4096;
+    private static final Executor DELIVERY = task -> Thread.ofVirtual().name("scoreboard-event-delivery").start(task);
+
+    public enum OverflowPolicy {
+        /**
+         * Skip the oldest events, keeping the latest buffer size of them.
+         */
+        DROP_OLDEST,
+        /**
+         * Deliver only the latest of the pending events of every match. When the latest event of a
+         * match may already be overwritten in the shared ring, deliver one
+         * {@link ScoreboardEvent.Type#EVENTS_LOST} event instead, so the subscriber reads the
+         * summary again rather than keeping a match that has changed or finished since.
+         */
+        CONFLATE
+    }
+
+    private final AtomicReferenceArray<ScoreboardEvent> ring = new AtomicReferenceArray<>(RING_SIZE);
+    private final CopyOnWriteArrayList<EventSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    // Position of the next event; written under the ring lock, read by subscribers without it
+    private volatile long tail;
+    private volatile Thread dispatcher;
+
+    /**
+     * Whether anyone listens, so writers can skip building events nobody reads.
+     */
+    public boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    void publish(ScoreboardEvent.Type type, Game game, int previousRank, int rank) {
+        publish(position -> new ScoreboardEvent(type, game, previousRank, rank, position));
+    }
+
+    /**
+     * Publishes a change ranked on first read from {@code summary}, for scoreboards that cannot rank
+     * it while they make it. {@code previousGame} is null for starts and {@code game} for finishes.
+     */
+    void publish(ScoreboardEvent.Type type, Game previousGame, Game game, Supplier<ScoreboardSnapshot> summary) {
+        publish(position -> new ScoreboardEvent(type, previousGame, game, summary, position));
+    }
+
+    private void publish(LongFunction<ScoreboardEvent> event) {
+        synchronized (ring) {
+            long position = tail;
+            ring.set((int) (position & (RING_SIZE - 1)), event.apply(position));
+            tail = position + 1;
+        }
+        Thread thread = dispatcher;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ScoreboardEvent> subscriber) {
+        subscribe(subscriber, DEFAULT_BUFFER_SIZE, OverflowPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * Subscribes to the events published from now on. A subscriber that is more than
+     * {@code bufferSize} events behind is brought back according to {@code policy}.
+     */
+    public void subscribe(Flow.Subscriber<? super ScoreboardEvent> subscriber, int bufferSize, OverflowPolicy policy) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        if (bufferSize <= 0 || bufferSize > RING_SIZE) {
+            throw new IllegalArgumentException("Buffer size must be between 1 and " + RING_SIZE);
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("Overflow policy cannot be null");
+        }
+        EventSubscription subscription = new EventSubscription(subscriber, bufferSize, policy, tail);
+        subscriptions.add(subscription);
+        startDispatcher();
+        subscriber.onSubscribe(subscription);
+    }
+
+    private void startDispatcher() {
+        if (dispatcher == null) {
+            synchronized (subscriptions) {
+                if (dispatcher == null) {
+                    dispatcher = Thread.ofPlatform().daemon().name("scoreboard-event-dispatcher").start(this::dispatch);
+                }
+            }
+        }
+    }
+
+    private void dispatch() {
+        long dispatched = 0;
+        while (true) {
+            long published = tail;
+            if (published == dispatched) {
+                LockSupport.park(this);
+                continue;
+            }
+            for (EventSubscription subscription : subscriptions) {
+                // Subscribers without demand are signalled by their next request instead
+                if (subscription.demand.get() > 0) {
+                    subscription.signal();
+                }
+            }
+            dispatched = published;
+        }
+    }
+
+    private final class EventSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super ScoreboardEvent> subscriber;
+        private final int bufferSize;
+        private final OverflowPolicy policy;
+        private final AtomicLong demand = new AtomicLong();
+        // Number of signals the running delivery still has to handle; only one delivery runs at a time
+        private final AtomicInteger pendingSignals = new AtomicInteger();
+        // Only touched by the running delivery
+        private final Queue<ScoreboardEvent> conflated = new ArrayDeque<>();
+        private long cursor;
+        private volatile boolean cancelled;
+
+        EventSubscription(Flow.Subscriber<? super ScoreboardEvent> subscriber, int bufferSize,
+                          OverflowPolicy policy, long cursor) {
+            this.subscriber = subscriber;
+            this.bufferSize = bufferSize;
+            this.policy = policy;
+            this.cursor = cursor;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("Requested events must be positive"));
+                return;
+            }
+            demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+
+        void signal() {
+            if (pendingSignals.getAndIncrement() == 0) {
+                DELIVERY.execute(this::deliver);
+            }
+        }
+
+        private void deliver() {
+            int missed = 1;
+            do {
+                while (!cancelled && demand.get() > 0) {
+                    ScoreboardEvent event = next();
+                    if (event == null) {
+                        break;
+                    }
+                    if (demand.get() != Long.MAX_VALUE) {
+                        demand.decrementAndGet();
+                    }
+                    try {
+                        subscriber.onNext(event);
+                    } catch (RuntimeException e) {
+                        cancel();
+                    }
+                }
+                missed = pendingSignals.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        // Next event to deliver, or null when the subscriber is up to date
+        private ScoreboardEvent next() {
+            while (true) {
+                if (!conflated.isEmpty()) {
+                    return conflated.poll();
+                }
+                long published = tail;
+                if (cursor == published) {
+                    return null;
+                }
+                if (published - cursor > bufferSize) {
+                    catchUp(published);
+                    continue;
+                }
+                ScoreboardEvent event = ring.get((int) (cursor & (RING_SIZE - 1)));
+                if (event == null || event.getPosition() != cursor) {
+                    // Overwritten since tail was read, so the subscriber is now too far behind
+                    continue;
+                }
+                cursor++;
+                return event;
+            }
+        }
+
+        private void catchUp(long published) {
+            if (policy == OverflowPolicy.DROP_OLDEST) {
+                cursor = published - bufferSize;
+                return;
+            }
+            Map<Integer, ScoreboardEvent> latest = new LinkedHashMap<>();
+            for (long position = cursor; position < published; position++) {
+                ScoreboardEvent event = ring.get((int) (position & (RING_SIZE - 1)));
+                if (event == null || event.getPosition() != position) {
+                    // Overwritten by a later lap of the ring, maybe with the latest change of a match
+                    conflated.add(new ScoreboardEvent(ScoreboardEvent.Type.EVENTS_LOST, null,
+                        ScoreboardEvent.NO_RANK, ScoreboardEvent.NO_RANK, position));
+                    cursor = published;
+                    return;
+                }
+                Game game = event.getGame();
+                int match = GameKeys.of(game.getHomeTeam(), game.getAwayTeam());
+                // Re-inserting moves the match behind the ones that changed before its latest change
+                latest.remove(match);
+                latest.put(match, event);
+            }
+            conflated.addAll(latest.values());
+            cursor = published;
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package io.eagle44;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * HTTP front end of a {@link Scoreboard}, handling every request on its own virtual thread.
+ * <ul>
+ *   <li>{@code GET /summary} returns the summary as text, with an ETag for conditional requests</li>
+ *   <li>{@code GET /events} streams the summary and then every change as
+ *       {@link ServerSentEventStream server-sent events}</li>
+ *   <li>{@code GET /metrics} returns the {@link ScoreboardMetrics} of a {@link MeteredScoreboard}
+ *       in the Prometheus text format</li>
+ *   <li>{@code GET /results} returns today's results from the {@link GameArchive}, and
+ *       {@code GET /results?country=Spain} all results of one country</li>
+ *   <li>{@code POST /start}, {@code /update} and {@code /finish} take the form parameters
+ *       {@code home}, {@code away} and, for updates, {@code homeScore} and {@code awayScore}</li>
+ * </ul>
+ * The summary is rendered once per scoreboard version and the same bytes are sent to every poller
+ * until the next change; pollers that send the current ETag get an empty 304.
+ * The scoreboard has to be safe for concurrent use.
+ */
+public final class ScoreboardHttpServer implements AutoCloseable {
+    private static final String TEXT = "text/plain; charset=utf-8";
+    private static final int MAX_FORM_SIZE = 4096;
+
+    private final Scoreboard scoreboard;
+    // Null if finished games are not archived
+    private final GameArchive archive;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    // Distinguishes the ETags of this run from those of earlier runs, whose versions started over
+    private final String etagPrefix;
+    private final AtomicReference<CachedSummary> summary;
+    private final Set<ServerSentEventStream> eventStreams = ConcurrentHashMap.newKeySet();
+
+    private ScoreboardHttpServer(Scoreboard scoreboard, GameArchive archive, HttpServer server) {
+        this.scoreboard = scoreboard;
+        this.archive = archive;
+        this.server = server;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.etagPrefix = "\"" + Long.toHexString(ThreadLocalRandom.current().nextLong()) + "-";
+        this.summary = new AtomicReference<>(render(ScoreboardSnapshot.EMPTY));
+    }
+
+    /**
+     * Starts serving {@code scoreboard} on {@code address}; port 0 picks a free port.
+     */
+    public static ScoreboardHttpServer start(Scoreboard scoreboard, InetSocketAddress address) throws IOException {
+        return start(scoreboard, null, address);
+    }
+
+    /**
+     * Like {@link #start(Scoreboard, InetSocketAddress)}, also serving the results the scoreboard
+     * archives in {@code archive}.
+     */
+    public static ScoreboardHttpServer start(Scoreboard scoreboard, GameArchive archive, InetSocketAddress address)
+        throws IOException {
+        if (scoreboard == null) {
+            throw new IllegalArgumentException("Scoreboard cannot be null");
+        }
+        ScoreboardHttpServer httpServer = new ScoreboardHttpServer(scoreboard, archive, HttpServer.create(address, 0));
+        httpServer.server.createContext("/summary", httpServer::handleSummary);
+        httpServer.server.createContext("/events", httpServer::handleEvents);
+        httpServer.server.createContext("/metrics", httpServer::handleMetrics);
+        httpServer.server.createContext("/results", httpServer::handleResults);
+        httpServer.server.createContext("/start", exchange -> httpServer.handleCommand(exchange, CommandType.START));
+        httpServer.server.createContext("/update", exchange -> httpServer.handleCommand(exchange, CommandType.UPDATE));
+        httpServer.server.createContext("/finish", exchange -> httpServer.handleCommand(exchange, CommandType.FINISH));
+        httpServer.server.setExecutor(httpServer.executor);
+        httpServer.server.start();
+        return httpServer;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handleSummary(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestURI().getPath().equals("/summary")) {
+                send(exchange, 404, "Not found");
+                return;
+            }
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                send(exchange, 405, "Method not allowed");
+                return;
+            }
+            CachedSummary current = currentSummary();
+            exchange.getResponseHeaders().set("ETag", current.etag);
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            if (current.etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", TEXT);
+            byte[] body = current.rendered.getBytes();
+            if (method.equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestURI().getPath().equals("/metrics")
+                || !(scoreboard instanceof MeteredScoreboard metered)) {
+                send(exchange, 404, "Not found");
+                return;
+            }
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                send(exchange, 405, "Method not allowed");
+                return;
+            }
+            byte[] body = metered.renderMetrics().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private void handleResults(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestURI().getPath().equals("/results") || archive == null) {
+                send(exchange, 404, "Not found");
+                return;
+            }
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                send(exchange, 405, "Method not allowed");
+                return;
+            }
+            String country = parseForm(exchange.getRequestURI().getRawQuery()).get("country");
+            try {
+                List<FinishedGame> results = country == null
+                    ? archive.getTodaysResults() : archive.getResults(Country.of(country));
+                byte[] body = GameArchive.render(results).getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", TEXT);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (IllegalArgumentException e) {
+                send(exchange, 400, "Error: " + e.getMessage());
+            }
+        }
+    }
+
+    // Holds the request's virtual thread for as long as the client stays connected
+    private void handleEvents(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestURI().getPath().equals("/events")) {
+                send(exchange, 404, "Not found");
+                return;
+            }
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                send(exchange, 405, "Method not allowed");
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            exchange.sendResponseHeaders(200, 0);
+            ServerSentEventStream stream = new ServerSentEventStream(exchange.getResponseBody());
+            eventStreams.add(stream);
+            try {
+                stream.stream(scoreboard.events(), () -> currentSummary().toServerSentEvent());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                eventStreams.remove(stream);
+            }
+        } catch (IOException e) {
+            // The client went away
+        }
+    }
+
+    private void handleCommand(HttpExchange exchange, CommandType type) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestURI().getPath().equals("/" + type.getKeyword())) {
+                send(exchange, 404, "Not found");
+                return;
+            }
+            if (!exchange.getRequestMethod().equals("POST")) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                send(exchange, 405, "Method not allowed");
+                return;
+            }
+            try {
+                send(exchange, 200, execute(type, readForm(exchange)));
+            } catch (IllegalArgumentException e) {
+                send(exchange, 400, "Error: " + e.getMessage());
+            }
+        }
+    }
+
+    private String execute(CommandType type, Map<String, String> form) {
+        Country homeTeam = Country.of(requireParameter(form, "home"));
+        Country awayTeam = Country.of(requireParameter(form, "away"));
+        return switch (type) {
+            case START -> "Game started: " + scoreboard.startGame(homeTeam, awayTeam);
+            case UPDATE -> {
+                int homeScore = parseScore(requireParameter(form, "homeScore"));
+                int awayScore = parseScore(requireParameter(form, "awayScore"));
+                scoreboard.updateScore(homeTeam, awayTeam, homeScore, awayScore);
+                yield "Score updated: " + homeTeam + " " + homeScore + " - " + awayScore + " " + awayTeam;
+            }
+            case FINISH -> {
+                scoreboard.finishGame(homeTeam, awayTeam);
+                yield "Game finished: " + homeTeam + " vs " + awayTeam;
+            }
+            case SUMMARY, METRICS, RESULTS -> throw new IllegalArgumentException("Invalid command type");
+        };
+    }
+
+    // Renders the summary only when the scoreboard changed since the cached one
+    private CachedSummary currentSummary() {
+        ScoreboardSnapshot snapshot = scoreboard.getSnapshot();
+        CachedSummary cached = summary.get();
+        if (cached.rendered.getVersion() == snapshot.getVersion()) {
+            return cached;
+        }
+        CachedSummary rendered = render(snapshot);
+        if (scoreboard instanceof MeteredScoreboard metered) {
+            metered.getMetrics().summaryRendered(rendered.rendered.getBytes().length);
+        }
+        return summary.accumulateAndGet(rendered,
+            (current, fresh) -> fresh.rendered.getVersion() > current.rendered.getVersion() ? fresh : current);
+    }
+
+    private CachedSummary render(ScoreboardSnapshot snapshot) {
+        return new CachedSummary(snapshot, RenderedSummary.of(snapshot), etagPrefix + snapshot.getVersion() + "\"");
+    }
+
+    private static Map<String, String> readForm(HttpExchange exchange) throws IOException {
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readNBytes(MAX_FORM_SIZE + 1);
+        }
+        if (body.length > MAX_FORM_SIZE) {
+            throw new IllegalArgumentException("Request body too large");
+        }
+        return parseForm(new String(body, StandardCharsets.UTF_8));
+    }
+
+    // Form bodies and query strings share the application/x-www-form-urlencoded format
+    private static Map<String, String> parseForm(String encoded) {
+        Map<String, String> form = new HashMap<>();
+        if (encoded == null || encoded.isBlank()) {
+            return form;
+        }
+        for (String pair : encoded.trim().split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            form.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return form;
+    }
+
+    private static String requireParameter(Map<String, String> form, String name) {
+        String value = form.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    private static int parseScore(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid score format");
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] body = (message + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", TEXT);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Stops accepting requests, waits up to a second for running ones, and stops the executor.
+     */
+    @Override
+    public void close() {
+        eventStreams.forEach(ServerSentEventStream::close);
+        server.stop(1);
+        executor.close();
+    }
+
+    private static final class CachedSummary {
+        private final ScoreboardSnapshot snapshot;
+        private final RenderedSummary rendered;
+        private final String etag;
+        // Encoded when the first event stream starts and shared by the ones starting after it
+        private volatile byte[] serverSentEvent;
+
+        CachedSummary(ScoreboardSnapshot snapshot, RenderedSummary rendered, String etag) {
+            this.snapshot = snapshot;
+            this.rendered = rendered;
+            this.etag = etag;
+        }
+
+        byte[] toServerSentEvent() {
+            byte[] encoded = serverSentEvent;
+            if (encoded == null) {
+                encoded = ServerSentEventStream.encode(snapshot);
+                serverSentEvent = encoded;
+            }
+            return encoded;
+        }
+    }
+}
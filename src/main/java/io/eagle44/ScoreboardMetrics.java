@@ -0,0 +1,158 @@
+package io.eagle44;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms of scoreboard operations, recorded by {@link MeteredScoreboard},
+ * plus the commands {@link LiveScoreboard} rejected before they reached the scoreboard.
+ * <p>
+ * Recording only adds to striped counters. While disabled, the metered scoreboard skips the clock
+ * and the counters, leaving one volatile read per operation.
+ */
+public final class ScoreboardMetrics {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    public enum Operation {
+        START("start"),
+        UPDATE("update"),
+        FINISH("finish"),
+        BATCH("batch"),
+        SUMMARY("summary");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final LongAdder[] successes = new LongAdder[Operation.values().length];
+    private final LongAdder[] failures = new LongAdder[Operation.values().length];
+    private final LatencyHistogram[] latencies = new LatencyHistogram[Operation.values().length];
+    private final LongAdder rejectedCommands = new LongAdder();
+    private volatile int summaryBytes;
+    private volatile boolean enabled = true;
+
+    public ScoreboardMetrics() {
+        for (int i = 0; i < latencies.length; i++) {
+            successes[i] = new LongAdder();
+            failures[i] = new LongAdder();
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    void record(Operation operation, long nanos, boolean successful) {
+        (successful ? successes : failures)[operation.ordinal()].increment();
+        latencies[operation.ordinal()].record(nanos);
+    }
+
+    /**
+     * Counts a command that could not be parsed or validated.
+     */
+    void commandRejected() {
+        if (enabled) {
+            rejectedCommands.increment();
+        }
+    }
+
+    /**
+     * Records the size of the summary text last rendered.
+     */
+    void summaryRendered(int bytes) {
+        summaryBytes = bytes;
+    }
+
+    public long getSuccessCount(Operation operation) {
+        return successes[operation.ordinal()].sum();
+    }
+
+    public long getFailureCount(Operation operation) {
+        return failures[operation.ordinal()].sum();
+    }
+
+    public long getRejectedCommandCount() {
+        return rejectedCommands.sum();
+    }
+
+    /**
+     * Latency below which {@code quantile} of the calls of {@code operation} completed, in
+     * nanoseconds, rounded up to the histogram bucket.
+     */
+    public long getLatencyNanos(Operation operation, double quantile) {
+        return latencies[operation.ordinal()].getValueAtQuantile(quantile);
+    }
+
+    /**
+     * All metrics in the Prometheus text exposition format, with the live game count of
+     * {@code scoreboard}, for metrics recorded by that scoreboard alone.
+     */
+    public String render(Scoreboard scoreboard) {
+        return render(scoreboard.getGameCount());
+    }
+
+    /**
+     * All metrics in the Prometheus text exposition format, with the live game count summed over
+     * every competition of {@code competitions}, like the operation counters they all record to.
+     */
+    public String render(ScoreboardRegistry competitions) {
+        return render(competitions.getGameCount());
+    }
+
+    private String render(long liveGames) {
+        StringBuilder text = new StringBuilder(4096);
+        text.append("# TYPE scoreboard_operations_total counter\n");
+        for (Operation operation : Operation.values()) {
+            appendSample(text, "scoreboard_operations_total", operation, "outcome=\"success\"",
+                getSuccessCount(operation));
+            appendSample(text, "scoreboard_operations_total", operation, "outcome=\"failure\"",
+                getFailureCount(operation));
+        }
+        text.append("# TYPE scoreboard_operation_latency_seconds summary\n");
+        for (Operation operation : Operation.values()) {
+            LatencyHistogram histogram = latencies[operation.ordinal()];
+            for (double quantile : QUANTILES) {
+                text.append("scoreboard_operation_latency_seconds{operation=\"").append(operation.getLabel())
+                    .append("\",quantile=\"").append(quantile).append("\"} ")
+                    .append(seconds(histogram.getValueAtQuantile(quantile))).append('\n');
+            }
+            text.append("scoreboard_operation_latency_seconds_sum{operation=\"").append(operation.getLabel())
+                .append("\"} ").append(seconds(histogram.getSum())).append('\n');
+            text.append("scoreboard_operation_latency_seconds_count{operation=\"").append(operation.getLabel())
+                .append("\"} ").append(histogram.getCount()).append('\n');
+        }
+        text.append("# TYPE scoreboard_operation_latency_max_seconds gauge\n");
+        for (Operation operation : Operation.values()) {
+            text.append("scoreboard_operation_latency_max_seconds{operation=\"").append(operation.getLabel())
+                .append("\"} ").append(seconds(latencies[operation.ordinal()].getMax())).append('\n');
+        }
+        text.append("# TYPE scoreboard_rejected_commands_total counter\n")
+            .append("scoreboard_rejected_commands_total ").append(getRejectedCommandCount()).append('\n');
+        text.append("# TYPE scoreboard_live_games gauge\n")
+            .append("scoreboard_live_games ").append(liveGames).append('\n');
+        text.append("# TYPE scoreboard_summary_bytes gauge\n")
+            .append("scoreboard_summary_bytes ").append(summaryBytes).append('\n');
+        return text.toString();
+    }
+
+    private static void appendSample(StringBuilder text, String name, Operation operation, String labels, long value) {
+        text.append(name).append("{operation=\"").append(operation.getLabel()).append("\",").append(labels)
+            .append("} ").append(value).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+    }
+}
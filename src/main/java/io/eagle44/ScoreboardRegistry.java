@@ -0,0 +1,188 @@
+package io.eagle44;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Independent scoreboards, one per competition, looked up by competition id in a hash map.
+ * <p>
+ * A competition's scoreboard is created on its first lookup and evicted once it has had no live
+ * games and no lookups for the idle timeout, so a competition costs nothing before it starts and
+ * after it ends. Idle competitions are looked for by the lookup that comes due every idle timeout,
+ * on the thread making it; scoreboards shared between threads have to be safe for concurrent use.
+ * Registered scoreboards are never evicted.
+ */
+public final class ScoreboardRegistry {
+    public static final String DEFAULT_COMPETITION = "default";
+    static final int MAX_ID_LENGTH = 64;
+    private static final long EVICTED = Long.MIN_VALUE;
+    private static final AtomicLongFieldUpdater<Competition> LAST_USED =
+        AtomicLongFieldUpdater.newUpdater(Competition.class, "lastUsedNanos");
+    private static final AtomicLongFieldUpdater<ScoreboardRegistry> LAST_EVICTION =
+        AtomicLongFieldUpdater.newUpdater(ScoreboardRegistry.class, "lastEvictionNanos");
+
+    private final Map<String, Competition> competitions = new ConcurrentHashMap<>();
+    private final Supplier<? extends Scoreboard> factory;
+    private final long idleTimeoutNanos;
+    // Lookups this close together record only the first one, so a busy competition is not
+    // written on every lookup
+    private final long touchGranularityNanos;
+    private final LongSupplier nanoClock;
+    private volatile long lastEvictionNanos;
+
+    public ScoreboardRegistry(Supplier<? extends Scoreboard> factory, Duration idleTimeout) {
+        this(factory, idleTimeout, System::nanoTime);
+    }
+
+    ScoreboardRegistry(Supplier<? extends Scoreboard> factory, Duration idleTimeout, LongSupplier nanoClock) {
+        if (factory == null || idleTimeout == null) {
+            throw new IllegalArgumentException("Factory and idle timeout cannot be null");
+        }
+        if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("Idle timeout must be positive");
+        }
+        this.factory = factory;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.touchGranularityNanos = idleTimeoutNanos / 16;
+        this.nanoClock = nanoClock;
+        this.lastEvictionNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * The scoreboard of the competition, created if the competition has none.
+     */
+    public Scoreboard get(String competitionId) {
+        validateId(competitionId);
+        long now = nanoClock.getAsLong();
+        evictIfDue(now);
+        while (true) {
+            Competition competition = competitions.computeIfAbsent(competitionId,
+                id -> new Competition(factory.get(), now, false));
+            if (competition.touch(now, touchGranularityNanos)) {
+                return competition.scoreboard;
+            }
+            // Evicted between the lookup and the touch
+            competitions.remove(competitionId, competition);
+        }
+    }
+
+    /**
+     * Adds a competition whose scoreboard is never evicted.
+     */
+    public void register(String competitionId, Scoreboard scoreboard) {
+        validateId(competitionId);
+        if (scoreboard == null) {
+            throw new IllegalArgumentException("Scoreboard cannot be null");
+        }
+        Competition competition = new Competition(scoreboard, nanoClock.getAsLong(), true);
+        if (competitions.putIfAbsent(competitionId, competition) != null) {
+            throw new IllegalArgumentException("Competition already exists: " + competitionId);
+        }
+    }
+
+    public boolean contains(String competitionId) {
+        return competitions.containsKey(competitionId);
+    }
+
+    /**
+     * Number of competitions currently holding a scoreboard.
+     */
+    public int size() {
+        return competitions.size();
+    }
+
+    /**
+     * Number of live games over all competitions. Competitions changing meanwhile may be counted
+     * before or after the change.
+     */
+    public long getGameCount() {
+        long count = 0;
+        for (Competition competition : competitions.values()) {
+            count += competition.scoreboard.getGameCount();
+        }
+        return count;
+    }
+
+    /**
+     * Evicts every competition without live games that was not looked up for the idle timeout.
+     *
+     * @return the number of competitions evicted
+     */
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        LAST_EVICTION.set(this, now);
+        return evictIdleSince(now - idleTimeoutNanos);
+    }
+
+    private void evictIfDue(long now) {
+        long last = lastEvictionNanos;
+        if (now - last >= idleTimeoutNanos && LAST_EVICTION.compareAndSet(this, last, now)) {
+            evictIdleSince(now - idleTimeoutNanos);
+        }
+    }
+
+    private int evictIdleSince(long cutoffNanos) {
+        int evicted = 0;
+        for (Map.Entry<String, Competition> entry : competitions.entrySet()) {
+            Competition competition = entry.getValue();
+            if (competition.evictIfIdleSince(cutoffNanos) && competitions.remove(entry.getKey(), competition)) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    private static void validateId(String competitionId) {
+        if (competitionId == null || competitionId.isEmpty()) {
+            throw new IllegalArgumentException("Competition id cannot be empty");
+        }
+        if (competitionId.length() > MAX_ID_LENGTH) {
+            throw new IllegalArgumentException("Competition id too long: " + competitionId);
+        }
+        for (int i = 0; i < competitionId.length(); i++) {
+            if (Character.isWhitespace(competitionId.charAt(i))) {
+                throw new IllegalArgumentException("Invalid competition id: " + competitionId);
+            }
+        }
+    }
+
+    // Kept to a scoreboard reference and a timestamp, as there can be tens of thousands of them
+    private static final class Competition {
+        private final Scoreboard scoreboard;
+        private final boolean pinned;
+        // EVICTED once evicted, after which lookups replace the competition
+        private volatile long lastUsedNanos;
+
+        Competition(Scoreboard scoreboard, long nowNanos, boolean pinned) {
+            this.scoreboard = scoreboard;
+            this.pinned = pinned;
+            this.lastUsedNanos = nowNanos;
+        }
+
+        boolean touch(long nowNanos, long granularityNanos) {
+            long lastUsed = lastUsedNanos;
+            while (lastUsed != EVICTED) {
+                if (nowNanos - lastUsed < granularityNanos || LAST_USED.compareAndSet(this, lastUsed, nowNanos)) {
+                    return true;
+                }
+                lastUsed = lastUsedNanos;
+            }
+            return false;
+        }
+
+        // A lookup racing with the eviction either touches first, and the eviction fails, or
+        // finds the competition evicted
+        boolean evictIfIdleSince(long cutoffNanos) {
+            long lastUsed = lastUsedNanos;
+            return !pinned
+                && lastUsed != EVICTED
+                && lastUsed - cutoffNanos < 0
+                && scoreboard.getGameCount() == 0
+                && LAST_USED.compareAndSet(this, lastUsed, EVICTED);
+        }
+    }
+}
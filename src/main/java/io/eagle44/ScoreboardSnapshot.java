@@ -0,0 +1,69 @@
+package io.eagle44;
+
+import java.util.List;
+
+/**
+ * Immutable, already sorted view of the live games. The version grows with every change of the
+ * scoreboard, so a client that still holds a snapshot with the same version can skip re-rendering.
+ */
+public final class ScoreboardSnapshot {
+    static final ScoreboardSnapshot EMPTY = new ScoreboardSnapshot(0, List.of());
+
+    private final long version;
+    private final List<Game> games;
+
+    ScoreboardSnapshot(long version, List<Game> games) {
+        this.version = version;
+        this.games = games;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Game> getGames() {
+        return games;
+    }
+
+    public boolean isNewerThan(long otherVersion) {
+        return version > otherVersion;
+    }
+
+    /**
+     * Position, starting at 1, that {@code game} takes in this summary among the games of the other
+     * matches, also when its own match is listed here in another state.
+     */
+    int rankOf(Game game) {
+        long sequence = game.getSequence();
+        int position = countRankingAbove(game.getTotalScore(), sequence);
+        // A game keeps its sequence when its score changes, so its own match can only be listed
+        // above it with a higher total: look for the sequence once per higher total
+        int run = 0;
+        while (run < position) {
+            int total = games.get(run).getTotalScore();
+            int found = countRankingAbove(total, sequence);
+            if (found < position && games.get(found).getSequence() == sequence) {
+                return position;
+            }
+            run = countRankingAbove(total, Long.MIN_VALUE);
+        }
+        return position + 1;
+    }
+
+    // Games ranking above a game with this total score and sequence, by binary search
+    private int countRankingAbove(int totalScore, long sequence) {
+        int low = 0;
+        int high = games.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            Game other = games.get(middle);
+            if (other.getTotalScore() > totalScore
+                || other.getTotalScore() == totalScore && other.getSequence() > sequence) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,149 @@
+package io.eagle44;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * One client connection of the {@code /events} endpoint of {@link ScoreboardHttpServer}: the
+ * summary as a {@code summary} event, followed by a {@code started}, {@code score} or
+ * {@code finished} event for every change, each carrying the game as JSON.
+ * <p>
+ * Events are written by the publisher's delivery thread. A client that cannot keep up makes that
+ * thread wait, and the subscription {@link ScoreboardEventPublisher.OverflowPolicy#CONFLATE
+ * conflates} the events piling up meanwhile to the latest state of every match. A client that fell
+ * so far behind that events were lost gets a fresh {@code summary} event instead.
+ */
+final class ServerSentEventStream implements Flow.Subscriber<ScoreboardEvent> {
+    static final int BUFFER_SIZE = 64;
+    private static final long HEARTBEAT_SECONDS = 15;
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final OutputStream out;
+    // A lock rather than synchronized, which would pin the virtual thread's carrier while writing
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final CountDownLatch closed = new CountDownLatch(1);
+    private Flow.Subscription subscription;
+    private Supplier<byte[]> summary;
+
+    ServerSentEventStream(OutputStream out) {
+        this.out = out;
+    }
+
+    static byte[] encode(ScoreboardEvent event) {
+        String name = switch (event.getType()) {
+            case GAME_STARTED -> "started";
+            case SCORE_CHANGED -> "score";
+            case GAME_FINISHED -> "finished";
+            case EVENTS_LOST -> throw new IllegalArgumentException("Lost events are answered with a summary");
+        };
+        StringBuilder text = new StringBuilder(160).append("event: ").append(name).append("\ndata: ");
+        appendGame(text, event.getGame(), event.getRank(), event.getPreviousRank());
+        return text.append("\n\n").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] encode(ScoreboardSnapshot snapshot) {
+        List<Game> games = snapshot.getGames();
+        StringBuilder text = new StringBuilder(32 + games.size() * 96).append("event: summary\ndata: [");
+        for (int i = 0; i < games.size(); i++) {
+            if (i > 0) {
+                text.append(',');
+            }
+            appendGame(text, games.get(i), i + 1, ScoreboardEvent.NO_RANK);
+        }
+        return text.append("]\n\n").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendGame(StringBuilder text, Game game, int rank, int previousRank) {
+        text.append("{\"home\":");
+        appendString(text, game.getHomeTeam().getName());
+        text.append(",\"away\":");
+        appendString(text, game.getAwayTeam().getName());
+        text.append(",\"homeScore\":").append(game.getHomeScore())
+            .append(",\"awayScore\":").append(game.getAwayScore());
+        if (rank != ScoreboardEvent.NO_RANK) {
+            text.append(",\"rank\":").append(rank);
+        }
+        if (previousRank != ScoreboardEvent.NO_RANK) {
+            text.append(",\"previousRank\":").append(previousRank);
+        }
+        text.append('}');
+    }
+
+    private static void appendString(StringBuilder text, String value) {
+        text.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                text.append('\\');
+            }
+            text.append(c);
+        }
+        text.append('"');
+    }
+
+    /**
+     * Sends the encoded summary and then the events of {@code publisher} until the client goes away
+     * or {@link #close()} is called. The summary is taken after subscribing and, like every
+     * {@link Scoreboard#getSnapshot() snapshot}, includes every change applied before it was asked
+     * for, so no change is missed; a change already in the summary may be sent once more as an event.
+     */
+    void stream(ScoreboardEventPublisher publisher, Supplier<byte[]> summary) throws IOException, InterruptedException {
+        this.summary = summary;
+        publisher.subscribe(this, BUFFER_SIZE, ScoreboardEventPublisher.OverflowPolicy.CONFLATE);
+        try {
+            write(summary.get());
+            subscription.request(Long.MAX_VALUE);
+            while (!closed.await(HEARTBEAT_SECONDS, TimeUnit.SECONDS)) {
+                // Keeps proxies from timing out idle streams and finds clients that went away
+                write(HEARTBEAT);
+            }
+        } finally {
+            subscription.cancel();
+        }
+    }
+
+    void close() {
+        closed.countDown();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(ScoreboardEvent event) {
+        try {
+            write(event.getType() == ScoreboardEvent.Type.EVENTS_LOST ? summary.get() : event.toServerSentEvent());
+        } catch (IOException e) {
+            close();
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        close();
+    }
+
+    @Override
+    public void onComplete() {
+        close();
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        writeLock.lock();
+        try {
+            out.write(bytes);
+            out.flush();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package io.eagle44;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Compact binary copy of the live games together with the journal position it covers, so a
+ * restart only needs to replay the journal behind it. Every game is stored as an update record of
+ * the {@link BinaryCommandCodec binary command format} followed by its start time and sequence,
+ * oldest game first. The archived results follow the games the same way, with their end time in
+ * place of the sequence; snapshots written before results were kept end after the games.
+ */
+final class SnapshotFile {
+    private static final int MAGIC = 0x4C535331; // "LSS1"
+    private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int MAX_GAME_SIZE = BinaryCommandCodec.MAX_ENCODED_SIZE + 2 * Long.BYTES;
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Writes the snapshot next to {@code path} and atomically replaces {@code path} with it once it
+     * is on disk, so a crash leaves either the previous or the new snapshot.
+     */
+    static void write(Path path, ScoreboardSnapshot snapshot, long journalPosition) throws IOException {
+        write(path, snapshot, List.of(), journalPosition);
+    }
+
+    /**
+     * Like {@link #write(Path, ScoreboardSnapshot, long)}, and also keeps {@code results}, oldest
+     * first.
+     */
+    static void write(Path path, ScoreboardSnapshot snapshot, List<FinishedGame> results, long journalPosition)
+        throws IOException {
+        List<Game> games = new ArrayList<>(snapshot.getGames());
+        games.sort(Comparator.comparingLong(Game::getSequence));
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + Integer.BYTES
+            + (games.size() + results.size()) * MAX_GAME_SIZE);
+        buffer.putInt(MAGIC).putLong(journalPosition).putInt(games.size());
+        for (Game game : games) {
+            BinaryCommandCodec.encode(CommandType.UPDATE, game.getHomeTeam(), game.getAwayTeam(),
+                game.getHomeScore(), game.getAwayScore(), buffer);
+            buffer.putLong(game.getStartEpochMillis());
+            buffer.putLong(game.getSequence());
+        }
+        buffer.putInt(results.size());
+        for (FinishedGame result : results) {
+            BinaryCommandCodec.encode(CommandType.UPDATE, result.getHomeTeam(), result.getAwayTeam(),
+                result.getHomeScore(), result.getAwayScore(), buffer);
+            buffer.putLong(result.getStartEpochMillis());
+            buffer.putLong(result.getEndEpochMillis());
+        }
+        buffer.flip();
+
+        Path written = path.resolveSibling(path.getFileName() + ".writing");
+        try (FileChannel channel = FileChannel.open(written, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(written, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Starts the games of the snapshot at {@code path} on the scoreboard with their original start
+     * times, oldest first so the order of the summary is kept. Loading maps the file instead of reading it into a buffer.
+     *
+     * @return journal position the snapshot covers, or 0 when there is no snapshot
+     */
+    static long load(Path path, Scoreboard scoreboard) throws IOException {
+        return load(path, scoreboard, result -> {
+        });
+    }
+
+    /**
+     * Like {@link #load(Path, Scoreboard)}, and hands the archived results of the snapshot to
+     * {@code results}, oldest first.
+     */
+    static long load(Path path, Scoreboard scoreboard, Consumer<FinishedGame> results) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try {
+                if (buffer.getInt() != MAGIC) {
+                    throw new IOException("Not a scoreboard snapshot: " + path);
+                }
+                long journalPosition = buffer.getLong();
+                int count = buffer.getInt();
+                MutableCommand game = new MutableCommand();
+                for (int i = 0; i < count; i++) {
+                    BinaryCommandCodec.decode(buffer, game);
+                    long startEpochMillis = buffer.getLong();
+                    // Sequences restart with the process; restoring in file order keeps the order
+                    buffer.getLong();
+                    restore(scoreboard, Game.restore(game.getHomeTeam(), game.getAwayTeam(),
+                        game.getHomeScore(), game.getAwayScore(), startEpochMillis));
+                }
+                int resultCount = buffer.hasRemaining() ? buffer.getInt() : 0;
+                for (int i = 0; i < resultCount; i++) {
+                    BinaryCommandCodec.decode(buffer, game);
+                    results.accept(new FinishedGame(game.getHomeTeam(), game.getAwayTeam(),
+                        game.getHomeScore(), game.getAwayScore(), buffer.getLong(), buffer.getLong()));
+                }
+                return journalPosition;
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                throw new IOException("Corrupt scoreboard snapshot: " + path, e);
+            }
+        }
+    }
+
+    // Scoreboards that cannot take a restored game start it now and set its score
+    private static void restore(Scoreboard scoreboard, Game game) {
+        switch (scoreboard) {
+            case InMemoryScoreboard inMemory -> inMemory.restoreGame(game);
+            case ConcurrentScoreboard concurrent -> concurrent.restoreGame(game);
+            case ArrayScoreboard array -> array.restoreGame(game);
+            case PartitionedScoreboard partitioned -> partitioned.restoreGame(game);
+            default -> {
+                scoreboard.startGame(game.getHomeTeam(), game.getAwayTeam());
+                if (game.getHomeScore() != 0 || game.getAwayScore() != 0) {
+                    scoreboard.updateScore(game.getHomeTeam(), game.getAwayTeam(),
+                        game.getHomeScore(), game.getAwayScore());
+                }
+            }
+        }
+    }
+}
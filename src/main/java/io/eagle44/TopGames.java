@@ -0,0 +1,85 @@
+package io.eagle44;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Selects the first {@code limit} games in {@link Game#SUMMARY_ORDER} from games offered in any
+ * order. A heap of at most {@code limit} games keeps the lowest ranked one at its root, so each
+ * game costs O(log limit), and the heap is sorted in place into the result.
+ * <p>
+ * Single use: {@link #toList()} ends the selection.
+ */
+final class TopGames {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int limit;
+    // Grown up to limit, so a large limit over a few games allocates only what they need
+    private Game[] heap;
+    private int size;
+
+    TopGames(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Number of games cannot be negative");
+        }
+        this.limit = limit;
+        this.heap = new Game[Math.min(limit, INITIAL_CAPACITY)];
+    }
+
+    void offer(Game game) {
+        if (size < limit) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, (int) Math.min(limit, 2L * size));
+            }
+            siftUp(size++, game);
+        } else if (size > 0 && ranksAbove(game, heap[0])) {
+            siftDown(0, game, size);
+        }
+    }
+
+    /**
+     * The selected games, highest ranked first.
+     */
+    List<Game> toList() {
+        // Moves the lowest ranked game to the end of the shrinking heap
+        for (int last = size - 1; last > 0; last--) {
+            Game lowest = heap[0];
+            siftDown(0, heap[last], last);
+            heap[last] = lowest;
+        }
+        List<Game> games = Arrays.asList(heap);
+        return Collections.unmodifiableList(size == heap.length ? games : games.subList(0, size));
+    }
+
+    private void siftUp(int position, Game game) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!ranksAbove(heap[parent], game)) {
+                break;
+            }
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = game;
+    }
+
+    private void siftDown(int position, Game game, int end) {
+        int child;
+        while ((child = 2 * position + 1) < end) {
+            if (child + 1 < end && ranksAbove(heap[child], heap[child + 1])) {
+                child++;
+            }
+            if (!ranksAbove(game, heap[child])) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = game;
+    }
+
+    private static boolean ranksAbove(Game game, Game other) {
+        return Game.SUMMARY_ORDER.compare(game, other) < 0;
+    }
+}
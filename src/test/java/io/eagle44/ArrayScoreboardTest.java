@@ -0,0 +1,130 @@
+package io.eagle44;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArrayScoreboardTest {
+    private ArrayScoreboard scoreboard;
+
+    @BeforeEach
+    void setUp() {
+        scoreboard = new ArrayScoreboard();
+    }
+
+    @Test
+    @DisplayName("Should start, update and finish game")
+    void shouldStartUpdateAndFinishGame() {
+        // Given
+        Country homeTeam = Country.of(TestFixtures.SAMPLE_HOME_TEAM);
+        Country awayTeam = Country.of(TestFixtures.SAMPLE_AWAY_TEAM);
+        Game started = scoreboard.startGame(homeTeam, awayTeam);
+
+        // When
+        scoreboard.updateScore(homeTeam, awayTeam, 2, 1);
+
+        // Then
+        Game game = scoreboard.getGameSummary().getFirst();
+        assertEquals(homeTeam, game.getHomeTeam());
+        assertEquals(2, game.getHomeScore());
+        assertEquals(1, game.getAwayScore());
+        assertEquals(started.getStartTime(), game.getStartTime());
+        scoreboard.finishGame(homeTeam, awayTeam);
+        assertFalse(scoreboard.hasGame(homeTeam, awayTeam));
+        assertEquals(0, scoreboard.getGameCount());
+    }
+
+    @Test
+    @DisplayName("Should reject duplicate, unknown and invalid games")
+    void shouldRejectDuplicateUnknownAndInvalidGames() {
+        // Given
+        Country spain = Country.of("Spain");
+        Country france = Country.of("France");
+        scoreboard.startGame(spain, france);
+
+        // When/Then
+        assertEquals("Game already exists", assertThrows(IllegalArgumentException.class,
+            () -> scoreboard.startGame(spain, france)).getMessage());
+        assertEquals("Home and away teams cannot be the same", assertThrows(IllegalArgumentException.class,
+            () -> scoreboard.startGame(spain, spain)).getMessage());
+        assertEquals("Game not found", assertThrows(IllegalArgumentException.class,
+            () -> scoreboard.updateScore(france, spain, 1, 0)).getMessage());
+        assertEquals("Scores cannot be negative", assertThrows(IllegalArgumentException.class,
+            () -> scoreboard.updateScore(spain, france, -1, 0)).getMessage());
+        assertEquals("Game not found", assertThrows(IllegalArgumentException.class,
+            () -> scoreboard.finishGame(france, spain)).getMessage());
+    }
+
+    @Test
+    @DisplayName("Should keep games ordered by total score, then most recently started")
+    void shouldKeepGamesOrderedByTotalScoreThenMostRecentlyStarted() {
+        // Given
+        List<String> countries = TestFixtures.VALID_COUNTRIES;
+        List<int[]> live = new ArrayList<>();
+        Random random = new Random(44);
+        int started = 0;
+
+        for (int step = 0; step < 2000; step++) {
+            // When
+            int action = random.nextInt(10);
+            if (live.isEmpty() || action < 2) {
+                int home = random.nextInt(countries.size());
+                int away = random.nextInt(countries.size());
+                Country homeTeam = Country.of(countries.get(home));
+                Country awayTeam = Country.of(countries.get(away));
+                if (home == away || scoreboard.hasGame(homeTeam, awayTeam)) {
+                    continue;
+                }
+                scoreboard.startGame(homeTeam, awayTeam);
+                live.add(new int[]{home, away, 0, 0, started++});
+            } else if (action < 3) {
+                int[] game = live.remove(random.nextInt(live.size()));
+                scoreboard.finishGame(Country.of(countries.get(game[0])), Country.of(countries.get(game[1])));
+            } else {
+                int[] game = live.get(random.nextInt(live.size()));
+                game[2] = random.nextInt(6);
+                game[3] = random.nextInt(6);
+                scoreboard.updateScore(Country.of(countries.get(game[0])), Country.of(countries.get(game[1])),
+                    game[2], game[3]);
+            }
+
+            // Then
+            List<String> expected = live.stream()
+                .sorted(Comparator.<int[]>comparingInt(game -> game[2] + game[3]).thenComparingInt(game -> game[4])
+                    .reversed())
+                .map(game -> countries.get(game[0]) + " " + game[2] + " - " + game[3] + " " + countries.get(game[1]))
+                .toList();
+            assertEquals(expected, describe(scoreboard.getGameSummary()), "step " + step);
+            assertEquals(expected.subList(0, Math.min(3, expected.size())), describe(scoreboard.getTopN(3)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reuse snapshot until the next change")
+    void shouldReuseSnapshotUntilChange() {
+        // Given
+        Country homeTeam = Country.of(TestFixtures.SAMPLE_HOME_TEAM);
+        Country awayTeam = Country.of(TestFixtures.SAMPLE_AWAY_TEAM);
+        scoreboard.startGame(homeTeam, awayTeam);
+        ScoreboardSnapshot first = scoreboard.getSnapshot();
+
+        // When
+        ScoreboardSnapshot unchanged = scoreboard.getSnapshot();
+        scoreboard.updateScore(homeTeam, awayTeam, 1, 1);
+
+        // Then
+        assertSame(first, unchanged);
+        assertTrue(scoreboard.getSnapshot().isNewerThan(first.getVersion()));
+    }
+
+    private static List<String> describe(List<Game> games) {
+        return games.stream().map(Game::toString).toList();
+    }
+}
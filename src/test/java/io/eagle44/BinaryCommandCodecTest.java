@@ -0,0 +1,98 @@
+package io.eagle44;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.ByteBuffer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryCommandCodecTest {
+    @ParameterizedTest
+    @DisplayName("Should round-trip commands through the binary form")
+    @MethodSource("commandsProvider")
+    void shouldRoundTripCommands(Command command, int expectedSize) {
+        // Given
+        ByteBuffer buffer = ByteBuffer.allocate(BinaryCommandCodec.MAX_ENCODED_SIZE);
+
+        // When
+        BinaryCommandCodec.encode(command, buffer);
+        buffer.flip();
+        int encodedSize = buffer.remaining();
+        Command decoded = BinaryCommandCodec.decode(buffer);
+
+        // Then
+        assertEquals(expectedSize, encodedSize);
+        assertEquals(command, decoded);
+        assertFalse(buffer.hasRemaining());
+    }
+
+    private static Stream<Arguments> commandsProvider() {
+        return Stream.of(
+            Arguments.of(Command.create("start", "Spain", "France"), 3),
+            Arguments.of(Command.create("update", "United States", "Mexico", "2", "1"), 5),
+            Arguments.of(Command.create("update", "Spain", "France", "300", "2147483647"), 10),
+            Arguments.of(Command.create("finish", "Zimbabwe", "Afghanistan"), 3),
+            Arguments.of(Command.create("summary"), 1),
+            Arguments.of(Command.create("summary", "10"), 2),
+            Arguments.of(Command.create("metrics"), 1),
+            Arguments.of(Command.create("results"), 1),
+            Arguments.of(Command.create("results", "Spain"), 2)
+        );
+    }
+
+    @Test
+    @DisplayName("Should decode a stream of commands into a reused command object")
+    void shouldDecodeStreamIntoReusedCommand() {
+        // Given
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        BinaryCommandCodec.encode(Command.create("start", "Spain", "France"), buffer);
+        BinaryCommandCodec.encode(Command.create("update", "Spain", "France", "1", "0"), buffer);
+        buffer.flip();
+        MutableCommand command = new MutableCommand();
+
+        // When
+        BinaryCommandCodec.decode(buffer, command);
+        BinaryCommandCodec.decode(buffer, command);
+
+        // Then
+        assertEquals(CommandType.UPDATE, command.getType());
+        assertSame(Country.of("Spain"), command.getHomeTeam());
+        assertEquals(1, command.getHomeScore());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown opcode and country ordinal")
+    void shouldRejectUnknownOpcodeAndCountryOrdinal() {
+        // When/Then
+        assertThrows(IllegalArgumentException.class,
+            () -> BinaryCommandCodec.decode(ByteBuffer.wrap(new byte[] {42})));
+        assertThrows(IllegalArgumentException.class,
+            () -> BinaryCommandCodec.decode(ByteBuffer.wrap(new byte[] {1, 0, (byte) 250})));
+    }
+
+    @Test
+    @DisplayName("Should reject a varint whose fifth byte has bits above 31")
+    void shouldRejectVarintOverflowingInt() {
+        // Given
+        byte[] largest = {6, (byte) 0xFE, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        byte[] highBitSet = {6, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x11};
+        byte[] continued = {6, (byte) 0x81, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x00};
+
+        // When
+        Command decoded = BinaryCommandCodec.decode(ByteBuffer.wrap(largest));
+
+        // Then
+        assertEquals(Command.create("summary", "2147483646"), decoded);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> BinaryCommandCodec.decode(ByteBuffer.wrap(highBitSet)));
+        assertEquals("Malformed number of games", e.getMessage());
+        assertThrows(IllegalArgumentException.class,
+            () -> BinaryCommandCodec.decode(ByteBuffer.wrap(continued)));
+    }
+}
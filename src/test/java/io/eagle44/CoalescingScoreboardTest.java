@@ -0,0 +1,146 @@
+package io.eagle44;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingScoreboardTest {
+    private InMemoryScoreboard delegate;
+    private CoalescingScoreboard scoreboard;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new InMemoryScoreboard();
+        scoreboard = new CoalescingScoreboard(delegate, Duration.ZERO, 3);
+        scoreboard.startGame(Country.of("Spain"), Country.of("France"));
+        scoreboard.startGame(Country.of("Germany"), Country.of("Italy"));
+    }
+
+    @Test
+    @DisplayName("Should apply only latest score of each match on flush")
+    void shouldApplyOnlyLatestScoreOnFlush() {
+        // Given
+        scoreboard.updateScore(Country.of("Spain"), Country.of("France"), 1, 0);
+        scoreboard.updateScore(Country.of("Spain"), Country.of("France"), 2, 0);
+        scoreboard.updateScore(Country.of("Spain"), Country.of("France"), 1, 0);
+        scoreboard.updateScore(Country.of("Germany"), Country.of("Italy"), 0, 1);
+
+        // When
+        scoreboard.flush();
+
+        // Then
+        assertEquals(List.of("Germany 0 - 1 Italy", "Spain 1 - 0 France"),
+            delegate.getGameSummary().stream().map(Game::toString).toList());
+        assertEquals(4, scoreboard.getSubmittedUpdates());
+        assertEquals(2, scoreboard.getAppliedUpdates());
+        assertEquals(2, scoreboard.getCoalescedUpdates());
+    }
+
+    @Test
+    @DisplayName("Should hold back updates until flushed")
+    void shouldHoldBackUpdatesUntilFlushed() {
+        // When
+        scoreboard.updateScore(Country.of("Spain"), Country.of("France"), 3, 0);
+
+        // Then
+        assertEquals(0, delegate.getGameSummary().getLast().getTotalScore());
+        assertEquals(0, scoreboard.getAppliedUpdates());
+    }
+
+    @Test
+    @DisplayName("Should apply pending updates when maximum pending matches is reached")
+    void shouldApplyPendingUpdatesWhenMaximumIsReached() {
+        // Given
+        scoreboard.startGame(Country.of("Mexico"), Country.of("Canada"));
+        scoreboard.updateScore(Country.of("Spain"), Country.of("France"), 1, 0);
+        scoreboard.updateScore(Country.of("Germany"), Country.of("Italy"), 0, 1);
+
+        // When
+        scoreboard.updateScore(Country.of("Mexico"), Country.of("Canada"), 2, 2);
+
+        // Then
+        assertEquals(3, scoreboard.getAppliedUpdates());
+        assertEquals("Mexico 2 - 2 Canada", delegate.getGameSummary().getFirst().toString());
+    }
+
+    @Test
+    @DisplayName("Should apply pending update before finishing the game")
+    void shouldApplyPendingUpdateBeforeFinishingGame() {
+        // Given
+        GameArchive archive = new GameArchive();
+        CoalescingScoreboard archiving = new CoalescingScoreboard(new InMemoryScoreboard(archive), Duration.ZERO, 10);
+        archiving.startGame(Country.of("Spain"), Country.of("France"));
+        archiving.updateScore(Country.of("Spain"), Country.of("France"), 4, 2);
+
+        // When
+        archiving.finishGame(Country.of("Spain"), Country.of("France"));
+
+        // Then
+        assertEquals("Spain 4 - 2 France", archive.getResults().getFirst().toString());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid update immediately")
+    void shouldRejectInvalidUpdateImmediately() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+            () -> scoreboard.updateScore(Country.of("Mexico"), Country.of("Canada"), 1, 0));
+        assertThrows(IllegalArgumentException.class,
+            () -> scoreboard.updateScore(Country.of("Spain"), Country.of("France"), -1, 0));
+        assertEquals(0, scoreboard.getSubmittedUpdates());
+    }
+
+    @Test
+    @DisplayName("Should apply pending updates after the window")
+    void shouldApplyPendingUpdatesAfterWindow() throws Exception {
+        // Given
+        ConcurrentScoreboard concurrentScoreboard = new ConcurrentScoreboard();
+        try (CoalescingScoreboard windowed = new CoalescingScoreboard(concurrentScoreboard, Duration.ofMillis(5), 100)) {
+            windowed.startGame(Country.of("Spain"), Country.of("France"));
+
+            // When
+            windowed.updateScore(Country.of("Spain"), Country.of("France"), 1, 1);
+
+            // Then
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (windowed.getAppliedUpdates() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals("Spain 1 - 1 France", concurrentScoreboard.getGameSummary().getFirst().toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the latest score of many more matches than it holds at once")
+    void shouldKeepLatestScoreOfManyMatches() {
+        // Given
+        InMemoryScoreboard expected = new InMemoryScoreboard();
+        InMemoryScoreboard coalesced = new InMemoryScoreboard();
+        CoalescingScoreboard coalescing = new CoalescingScoreboard(coalesced, Duration.ZERO, 5);
+        List<String> countries = AcceptedCountries.getAllCountries();
+        for (int i = 0; i + 1 < countries.size(); i += 2) {
+            expected.startGame(Country.of(countries.get(i)), Country.of(countries.get(i + 1)));
+            coalescing.startGame(Country.of(countries.get(i)), Country.of(countries.get(i + 1)));
+        }
+
+        // When
+        for (int round = 1; round <= 3; round++) {
+            for (int i = 0; i + 1 < countries.size(); i += 2) {
+                int homeScore = (i * round) % 7;
+                expected.updateScore(Country.of(countries.get(i)), Country.of(countries.get(i + 1)), homeScore, round);
+                coalescing.updateScore(Country.of(countries.get(i)), Country.of(countries.get(i + 1)), homeScore, round);
+            }
+        }
+        coalescing.flush();
+
+        // Then
+        assertEquals(expected.getGameSummary().stream().map(Game::toString).toList(),
+            coalesced.getGameSummary().stream().map(Game::toString).toList());
+        assertEquals(coalescing.getSubmittedUpdates(), coalescing.getAppliedUpdates());
+    }
+}
@@ -83,6 +83,23 @@ class CommandTest {
         assertEquals(0, command.getArgs().length);
     }
 
+    @Test
+    @DisplayName("Should create summary command limited to the first games")
+    void shouldCreateLimitedSummaryCommand() {
+        // When
+        Command command = Command.create(SUMMARY_COMMAND, "10");
+
+        // Then
+        assertEquals(SUMMARY_COMMAND, command.getType());
+        assertArrayEquals(new String[]{"10"}, command.getArgs());
+        assertEquals("Invalid number of games", assertThrows(IllegalArgumentException.class,
+            () -> Command.create(SUMMARY_COMMAND, "-1")).getMessage());
+        assertEquals("Invalid number of games", assertThrows(IllegalArgumentException.class,
+            () -> Command.create(SUMMARY_COMMAND, "0")).getMessage());
+        assertEquals("Invalid number of games", assertThrows(IllegalArgumentException.class,
+            () -> Command.create(SUMMARY_COMMAND, "all")).getMessage());
+    }
+
     // Todo: fix
     @Disabled
     @ParameterizedTest
@@ -111,7 +128,7 @@ class CommandTest {
                     Arguments.of(UPDATE_COMMAND, new String[]{TestFixtures.SAMPLE_HOME_TEAM, TestFixtures.SAMPLE_AWAY_TEAM, "invalid", "1"}, "Invalid score format"),
                     Arguments.of(FINISH_COMMAND, new String[]{}, "Invalid number of arguments"),
                     Arguments.of(FINISH_COMMAND, new String[]{TestFixtures.SAMPLE_HOME_TEAM}, "Invalid number of arguments"),
-                    Arguments.of(SUMMARY_COMMAND, new String[]{"extra"}, "Invalid number of arguments")
+                    Arguments.of(SUMMARY_COMMAND, new String[]{"1", "2"}, "Invalid number of arguments")
             );
         }
     }
@@ -0,0 +1,142 @@
+package io.eagle44;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.CharBuffer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandTokenizerTest {
+    private CommandTokenizer tokenizer;
+    private MutableCommand command;
+
+    @BeforeEach
+    void setUp() {
+        tokenizer = new CommandTokenizer();
+        command = new MutableCommand();
+    }
+
+    @Test
+    @DisplayName("Should parse update command")
+    void shouldParseUpdateCommand() {
+        // When
+        tokenizer.parse("  UPDATE spain  France 12 0 ", command);
+
+        // Then
+        assertEquals(CommandType.UPDATE, command.getType());
+        assertSame(Country.of("Spain"), command.getHomeTeam());
+        assertSame(Country.of("France"), command.getAwayTeam());
+        assertEquals(12, command.getHomeScore());
+        assertEquals(0, command.getAwayScore());
+    }
+
+    @Test
+    @DisplayName("Should parse quoted multi-word country names")
+    void shouldParseQuotedMultiWordCountryNames() {
+        // When
+        tokenizer.parse(CharBuffer.wrap("start \"United States\" \"Bosnia and Herzegovina\""), command);
+
+        // Then
+        assertEquals(CommandType.START, command.getType());
+        assertSame(Country.of("United States"), command.getHomeTeam());
+        assertSame(Country.of("Bosnia and Herzegovina"), command.getAwayTeam());
+    }
+
+    @Test
+    @DisplayName("Should reuse command object between parses")
+    void shouldReuseCommandObjectBetweenParses() {
+        // Given
+        tokenizer.parse("update Spain France 2 1", command);
+
+        // When
+        tokenizer.parse("summary", command);
+
+        // Then
+        assertEquals(CommandType.SUMMARY, command.getType());
+        assertNull(command.getHomeTeam());
+        assertEquals(0, command.getHomeScore());
+    }
+
+    @Test
+    @DisplayName("Should parse summary limited to the first games")
+    void shouldParseLimitedSummary() {
+        // When
+        tokenizer.parse("summary 10", command);
+
+        // Then
+        assertEquals(CommandType.SUMMARY, command.getType());
+        assertEquals(10, command.getSummaryLimit());
+        assertEquals(Command.create("summary", "10"), command.toCommand());
+        tokenizer.parse("summary", command);
+        assertEquals(MutableCommand.ALL_GAMES, command.getSummaryLimit());
+    }
+
+    @Test
+    @DisplayName("Should parse results query with and without country")
+    void shouldParseResultsQuery() {
+        // When
+        tokenizer.parse("results Spain", command);
+
+        // Then
+        assertEquals(CommandType.RESULTS, command.getType());
+        assertEquals(Country.of("Spain"), command.getHomeTeam());
+        assertEquals(Command.create("results", "Spain"), command.toCommand());
+        tokenizer.parse("RESULTS", command);
+        assertEquals(CommandType.RESULTS, command.getType());
+        assertNull(command.getHomeTeam());
+    }
+
+    @Test
+    @DisplayName("Should convert parsed command to text command")
+    void shouldConvertParsedCommandToTextCommand() {
+        // Given
+        tokenizer.parse("update \"united states\" mexico 1 0", command);
+
+        // When
+        Command textCommand = command.toCommand();
+
+        // Then
+        assertEquals(Command.create("update", "United States", "Mexico", "1", "0"), textCommand);
+        assertEquals("update \"United States\" Mexico 1 0", textCommand.toString());
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should reject invalid commands")
+    @MethodSource("invalidCommandsProvider")
+    void shouldRejectInvalidCommands(String input, String expectedMessage) {
+        // When/Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> tokenizer.parse(input, command));
+        assertEquals(expectedMessage, exception.getMessage());
+    }
+
+    private static Stream<Arguments> invalidCommandsProvider() {
+        return Stream.of(
+            Arguments.of("   ", "Empty command"),
+            Arguments.of("invalid", "Invalid command type"),
+            Arguments.of("starts Spain France", "Invalid command type"),
+            Arguments.of("start Spain", "Invalid number of arguments for START command"),
+            Arguments.of("start United States Mexico", "Invalid number of arguments for START command"),
+            Arguments.of("update Spain France 1 2 3", "Invalid number of arguments for UPDATE command"),
+            Arguments.of("summary now", "Invalid number of games"),
+            Arguments.of("summary -1", "Invalid number of games"),
+            Arguments.of("summary 0", "Invalid number of games"),
+            Arguments.of("summary 10 20", "Invalid number of arguments for SUMMARY command"),
+            Arguments.of("metrics all", "Invalid number of arguments for METRICS command"),
+            Arguments.of("results Spain France", "Invalid number of arguments for RESULTS command"),
+            Arguments.of("results Atlantis", "Invalid country name"),
+            Arguments.of("finish Spain Atlantis", "Invalid country name"),
+            Arguments.of("start \"United  States\" Mexico", "Invalid country name"),
+            Arguments.of("start \"United States Mexico", "Unterminated quoted argument"),
+            Arguments.of("update Spain France invalid 1", "Invalid score format"),
+            Arguments.of("update Spain France 1 99999999999", "Invalid score format"),
+            Arguments.of("update Spain France -1 0", "Score cannot be negative")
+        );
+    }
+}
@@ -0,0 +1,347 @@
+package io.eagle44;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentScoreboardTest {
+    private static final int THREADS = 8;
+
+    private ConcurrentScoreboard scoreboard;
+
+    @BeforeEach
+    void setUp() {
+        scoreboard = new ConcurrentScoreboard();
+    }
+
+    @Test
+    @DisplayName("Should start, update and finish game")
+    void shouldStartUpdateAndFinishGame() {
+        // Given
+        Country homeTeam = Country.of(TestFixtures.SAMPLE_HOME_TEAM);
+        Country awayTeam = Country.of(TestFixtures.SAMPLE_AWAY_TEAM);
+        scoreboard.startGame(homeTeam, awayTeam);
+
+        // When
+        scoreboard.updateScore(homeTeam, awayTeam, 2, 1);
+
+        // Then
+        Game game = scoreboard.getGameSummary().getFirst();
+        assertEquals(2, game.getHomeScore());
+        assertEquals(1, game.getAwayScore());
+        scoreboard.finishGame(homeTeam, awayTeam);
+        assertFalse(scoreboard.hasGame(homeTeam, awayTeam));
+        assertTrue(scoreboard.getGameSummary().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject update and finish of unknown game")
+    void shouldRejectUpdateAndFinishOfUnknownGame() {
+        // Given
+        Country homeTeam = Country.of(TestFixtures.SAMPLE_HOME_TEAM);
+        Country awayTeam = Country.of(TestFixtures.SAMPLE_AWAY_TEAM);
+
+        // When/Then
+        assertEquals("Game not found", assertThrows(IllegalArgumentException.class,
+            () -> scoreboard.updateScore(homeTeam, awayTeam, 1, 0)).getMessage());
+        assertEquals("Game not found", assertThrows(IllegalArgumentException.class,
+            () -> scoreboard.finishGame(homeTeam, awayTeam)).getMessage());
+    }
+
+    @Test
+    @DisplayName("Should publish a new snapshot only after a change")
+    void shouldPublishNewSnapshotOnlyAfterChange() {
+        // Given
+        Country homeTeam = Country.of(TestFixtures.SAMPLE_HOME_TEAM);
+        Country awayTeam = Country.of(TestFixtures.SAMPLE_AWAY_TEAM);
+        scoreboard.startGame(homeTeam, awayTeam);
+        ScoreboardSnapshot first = scoreboard.getSnapshot();
+
+        // When
+        ScoreboardSnapshot unchanged = scoreboard.getSnapshot();
+        scoreboard.updateScore(homeTeam, awayTeam, 3, 3);
+        ScoreboardSnapshot changed = scoreboard.getSnapshot();
+
+        // Then
+        assertSame(first, unchanged);
+        assertTrue(changed.isNewerThan(first.getVersion()));
+        assertEquals(6, changed.getGames().getFirst().getTotalScore());
+    }
+
+    @Test
+    @DisplayName("Should select top games without rebuilding the snapshot")
+    void shouldSelectTopGamesWithoutRebuildingSnapshot() {
+        // Given
+        Country spain = Country.of("Spain");
+        Country france = Country.of("France");
+        Country germany = Country.of("Germany");
+        Country italy = Country.of("Italy");
+        Country mexico = Country.of("Mexico");
+        Country canada = Country.of("Canada");
+        scoreboard.startGame(spain, france);
+        scoreboard.startGame(germany, italy);
+        scoreboard.startGame(mexico, canada);
+        ScoreboardSnapshot before = scoreboard.getSnapshot();
+        scoreboard.updateScore(spain, france, 3, 1);
+        scoreboard.updateScore(mexico, canada, 0, 1);
+
+        // When
+        List<Game> topGames = scoreboard.getTopN(2);
+
+        // Then
+        assertEquals(2, topGames.size());
+        assertEquals(spain, topGames.get(0).getHomeTeam());
+        assertEquals(mexico, topGames.get(1).getHomeTeam());
+        assertEquals(topGames, scoreboard.getGameSummary().subList(0, 2));
+        assertTrue(scoreboard.getTopN(0).isEmpty());
+        assertEquals(3, scoreboard.getTopN(Integer.MAX_VALUE).size());
+        assertNotSame(before, scoreboard.getSnapshot());
+    }
+
+    @Test
+    @DisplayName("Should never show part of a batch in a summary")
+    void shouldNeverShowPartOfBatchInSummary() throws Exception {
+        // Given
+        List<Command> batch = new ArrayList<>();
+        for (int i = 0; i < 20; i += 2) {
+            batch.add(Command.create("start", TestFixtures.VALID_COUNTRIES.get(i), TestFixtures.VALID_COUNTRIES.get(i + 1)));
+        }
+        AtomicInteger partialSummaries = new AtomicInteger();
+
+        // When
+        runConcurrently(thread -> {
+            if (thread == 0) {
+                scoreboard.applyBatch(batch);
+                return;
+            }
+            for (int read = 0; read < 10_000; read++) {
+                int size = scoreboard.getGameSummary().size();
+                if (size != 0 && size != batch.size()) {
+                    partialSummaries.incrementAndGet();
+                }
+            }
+        });
+
+        // Then
+        assertEquals(0, partialSummaries.get());
+        assertEquals(batch.size(), scoreboard.getGameSummary().size());
+    }
+
+    @Test
+    @DisplayName("Should only show summaries of states the scoreboard has been in")
+    void shouldOnlyShowConsistentSummaries() throws Exception {
+        // Given
+        Country spain = Country.of("Spain");
+        Country france = Country.of("France");
+        Country germany = Country.of("Germany");
+        Country italy = Country.of("Italy");
+        scoreboard.startGame(spain, france);
+        AtomicInteger emptySummaries = new AtomicInteger();
+
+        // When
+        runConcurrently(thread -> {
+            if (thread == 0) {
+                // Always at least one game live: the next one starts before the other finishes
+                for (int round = 0; round < 5_000; round++) {
+                    scoreboard.startGame(germany, italy);
+                    scoreboard.finishGame(spain, france);
+                    scoreboard.startGame(spain, france);
+                    scoreboard.finishGame(germany, italy);
+                }
+                return;
+            }
+            for (int read = 0; read < 20_000; read++) {
+                if (scoreboard.getGameSummary().isEmpty()) {
+                    emptySummaries.incrementAndGet();
+                }
+            }
+        });
+
+        // Then
+        assertEquals(0, emptySummaries.get());
+    }
+
+    @Test
+    @DisplayName("Should show every finished change in the next summary while others keep writing")
+    void shouldShowOwnChangesWhileOthersWrite() throws Exception {
+        // Given
+        List<String> countries = TestFixtures.VALID_COUNTRIES;
+        for (int thread = 0; thread < THREADS; thread++) {
+            scoreboard.startGame(Country.of(countries.get(2 * thread)), Country.of(countries.get(2 * thread + 1)));
+        }
+        AtomicInteger staleSummaries = new AtomicInteger();
+
+        // When
+        runConcurrently(thread -> {
+            Country homeTeam = Country.of(countries.get(2 * thread));
+            Country awayTeam = Country.of(countries.get(2 * thread + 1));
+            for (int goals = 1; goals <= 2000; goals++) {
+                scoreboard.updateScore(homeTeam, awayTeam, goals, 0);
+                int score = goals;
+                boolean seen = scoreboard.getGameSummary().stream()
+                    .anyMatch(game -> game.getHomeTeam() == homeTeam && game.getHomeScore() == score);
+                if (!seen) {
+                    staleSummaries.incrementAndGet();
+                }
+            }
+        });
+
+        // Then
+        assertEquals(0, staleSummaries.get());
+        assertEquals(THREADS * 2001L, scoreboard.getSnapshot().getVersion());
+    }
+
+    @Test
+    @DisplayName("Should let a writer change a game while a summary is being built")
+    void shouldLetWriterChangeGameWhileSummaryIsBuilt() {
+        // Given
+        Country homeTeam = Country.of(TestFixtures.SAMPLE_HOME_TEAM);
+        Country awayTeam = Country.of(TestFixtures.SAMPLE_AWAY_TEAM);
+        AtomicInteger scans = new AtomicInteger();
+        AtomicBoolean writerFinished = new AtomicBoolean();
+        scoreboard = new ConcurrentScoreboard(null, () -> {
+            if (scans.getAndIncrement() == 0) {
+                Thread writer = Thread.ofPlatform().start(() -> scoreboard.updateScore(homeTeam, awayTeam, 1, 0));
+                writerFinished.set(finishesInTime(writer));
+            }
+        });
+        scoreboard.startGame(homeTeam, awayTeam);
+
+        // When
+        ScoreboardSnapshot summary = scoreboard.getSnapshot();
+
+        // Then
+        assertTrue(writerFinished.get());
+        assertEquals(2, scans.get());
+        assertEquals(2, summary.getVersion());
+        assertEquals(1, summary.getGames().getFirst().getHomeScore());
+    }
+
+    @Test
+    @DisplayName("Should let a writer change a game while top games are selected")
+    void shouldLetWriterChangeGameWhileTopGamesAreSelected() {
+        // Given
+        Country spain = Country.of("Spain");
+        Country france = Country.of("France");
+        Country germany = Country.of("Germany");
+        Country italy = Country.of("Italy");
+        AtomicInteger scans = new AtomicInteger();
+        AtomicBoolean writerFinished = new AtomicBoolean();
+        scoreboard = new ConcurrentScoreboard(null, () -> {
+            if (scans.getAndIncrement() == 0) {
+                Thread writer = Thread.ofPlatform().start(() -> scoreboard.updateScore(spain, france, 2, 0));
+                writerFinished.set(finishesInTime(writer));
+            }
+        });
+        scoreboard.startGame(spain, france);
+        scoreboard.startGame(germany, italy);
+        scoreboard.updateScore(germany, italy, 1, 0);
+
+        // When
+        List<Game> topGames = scoreboard.getTopN(1);
+
+        // Then
+        assertTrue(writerFinished.get());
+        assertEquals(2, scans.get());
+        assertEquals(spain, topGames.getFirst().getHomeTeam());
+        assertEquals(2, topGames.getFirst().getHomeScore());
+    }
+
+    @Test
+    @DisplayName("Should let exactly one of many concurrent starts of the same game succeed")
+    void shouldLetExactlyOneConcurrentStartSucceed() throws Exception {
+        // Given
+        Country homeTeam = Country.of(TestFixtures.SAMPLE_HOME_TEAM);
+        Country awayTeam = Country.of(TestFixtures.SAMPLE_AWAY_TEAM);
+        AtomicInteger started = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        // When
+        runConcurrently(thread -> {
+            try {
+                scoreboard.startGame(homeTeam, awayTeam);
+                started.incrementAndGet();
+            } catch (IllegalArgumentException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        // Then
+        assertEquals(1, started.get());
+        assertEquals(THREADS - 1, rejected.get());
+        assertEquals(1, scoreboard.getGameSummary().size());
+    }
+
+    @Test
+    @DisplayName("Should apply concurrent updates of different games without losing any")
+    void shouldApplyConcurrentUpdatesOfDifferentGames() throws Exception {
+        // Given
+        List<String> countries = TestFixtures.VALID_COUNTRIES;
+        for (int thread = 0; thread < THREADS; thread++) {
+            scoreboard.startGame(Country.of(countries.get(2 * thread)), Country.of(countries.get(2 * thread + 1)));
+        }
+
+        // When
+        runConcurrently(thread -> {
+            Country homeTeam = Country.of(countries.get(2 * thread));
+            Country awayTeam = Country.of(countries.get(2 * thread + 1));
+            for (int goals = 1; goals <= 1000; goals++) {
+                scoreboard.updateScore(homeTeam, awayTeam, goals, thread);
+            }
+        });
+
+        // Then
+        List<Game> summary = scoreboard.getGameSummary();
+        assertEquals(THREADS, summary.size());
+        summary.forEach(game -> assertEquals(1000, game.getHomeScore()));
+        assertEquals(THREADS - 1, summary.getFirst().getAwayScore());
+    }
+
+    private static boolean finishesInTime(Thread thread) {
+        try {
+            return thread.join(Duration.ofSeconds(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch ready = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int threadIndex = thread;
+                futures.add(executor.submit(() -> {
+                    ready.await();
+                    task.run(threadIndex);
+                    return null;
+                }));
+            }
+            ready.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int thread);
+    }
+}
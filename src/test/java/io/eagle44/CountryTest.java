@@ -99,4 +99,28 @@ class CountryTest {
         );
         assertEquals("Country name contains invalid characters", exception.getMessage());
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return the same instance for every spelling of a country")
+    void shouldReturnSameInstanceForEverySpellingOfCountry() {
+        // Given
+        Country country = Country.of("United States");
+
+        // When/Then
+        assertSame(country, Country.of("united states"));
+        assertSame(country, Country.of("  UNITED STATES "));
+        assertEquals(TestFixtures.VALID_COUNTRIES.indexOf("United States"), country.getOrdinal());
+        assertEquals(country.getOrdinal(), country.hashCode());
+    }
+
+    @Test
+    @DisplayName("Should report the length of the longest accepted country name")
+    void shouldReportLongestAcceptedNameLength() {
+        // When
+        int maxNameLength = AcceptedCountries.maxNameLength();
+
+        // Then
+        assertEquals("Saint Vincent and the Grenadines".length(), maxNameLength);
+        assertTrue(AcceptedCountries.getAllCountries().stream().allMatch(name -> name.length() <= maxNameLength));
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -126,4 +127,23 @@ class CountryValidatorTest {
         );
         assertEquals(ERROR_INVALID_COUNTRY.formatted("   "), exception.getMessage());
     }
-} 
\ No newline at end of file
+
+    @ParameterizedTest
+    @DisplayName("Should give the same answer in every validator mode")
+    @EnumSource(CountryValidator.Mode.class)
+    void shouldGiveSameAnswerInEveryValidatorMode(CountryValidator.Mode mode) {
+        // Given
+        CountryValidator modeValidator = new CountryValidator(mode);
+
+        // When/Then
+        for (String name : TestFixtures.VALID_COUNTRIES) {
+            assertTrue(modeValidator.isValid(name), name);
+            assertTrue(modeValidator.isValid(name.toLowerCase()), name);
+            assertTrue(modeValidator.isValid(" " + name.toUpperCase() + "\t"), name);
+            assertFalse(modeValidator.isValid(name + "x"), name);
+        }
+        assertFalse(modeValidator.isValid(null));
+        assertFalse(modeValidator.isValid("   "));
+        assertFalse(modeValidator.isValid("United  States"));
+    }
+}
@@ -0,0 +1,177 @@
+package io.eagle44;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameArchiveTest {
+    private GameArchive archive;
+    private Scoreboard scoreboard;
+
+    @BeforeEach
+    void setUp() {
+        archive = new GameArchive();
+        scoreboard = new InMemoryScoreboard(archive);
+    }
+
+    @Test
+    @DisplayName("Should archive final score when game is finished")
+    void shouldArchiveFinalScoreWhenGameIsFinished() {
+        // Given
+        long before = System.currentTimeMillis();
+        scoreboard.startGame(Country.of("Spain"), Country.of("France"));
+        scoreboard.updateScore(Country.of("Spain"), Country.of("France"), 2, 1);
+
+        // When
+        scoreboard.finishGame(Country.of("Spain"), Country.of("France"));
+
+        // Then
+        List<FinishedGame> results = archive.getResults();
+        assertEquals(1, results.size());
+        FinishedGame result = results.getFirst();
+        assertEquals("Spain 2 - 1 France", result.toString());
+        assertEquals(Country.of("Spain"), result.getHomeTeam());
+        assertTrue(result.getEndEpochMillis() >= before);
+        assertTrue(result.getEndEpochMillis() >= result.getStartEpochMillis());
+    }
+
+    @Test
+    @DisplayName("Should render today's results one game per line")
+    void shouldRenderTodaysResults() {
+        // Given
+        assertEquals("No results" + System.lineSeparator(), GameArchive.render(archive.getTodaysResults()));
+        playGame("Spain", "France", 1, 0);
+        playGame("Germany", "Italy", 3, 3);
+
+        // When
+        String text = GameArchive.render(archive.getTodaysResults());
+
+        // Then
+        assertEquals(String.join(System.lineSeparator(), "Results:", "Spain 1 - 0 France", "Germany 3 - 3 Italy", ""),
+            text);
+    }
+
+    @Test
+    @DisplayName("Should return results of one country, home and away")
+    void shouldReturnResultsOfOneCountry() {
+        // Given
+        playGame("Spain", "France", 1, 0);
+        playGame("Germany", "Italy", 3, 3);
+        playGame("Brazil", "Spain", 2, 2);
+        playGame("Spain", "France", 0, 4);
+
+        // When
+        List<FinishedGame> results = archive.getResults(Country.of("Spain"));
+
+        // Then
+        assertEquals(List.of("Spain 1 - 0 France", "Brazil 2 - 2 Spain", "Spain 0 - 4 France"),
+            results.stream().map(FinishedGame::toString).toList());
+        assertTrue(archive.getResults(Country.of("Mexico")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return only games finished since given time")
+    void shouldReturnOnlyGamesFinishedSinceGivenTime() {
+        // Given
+        Game spainFrance = Game.start(Country.of("Spain"), Country.of("France")).updateScore(1, 0);
+        Game germanyItaly = Game.start(Country.of("Germany"), Country.of("Italy")).updateScore(0, 2);
+        Game mexicoCanada = Game.start(Country.of("Mexico"), Country.of("Canada"));
+        archive.add(spainFrance, 1_000);
+        archive.add(germanyItaly, 2_000);
+        archive.add(mexicoCanada, 2_000);
+
+        // When
+        List<FinishedGame> results = archive.getResultsSince(2_000);
+
+        // Then
+        assertEquals(List.of("Germany 0 - 2 Italy", "Mexico 0 - 0 Canada"),
+            results.stream().map(FinishedGame::toString).toList());
+        assertEquals(3, archive.getResultsSince(0).size());
+        assertTrue(archive.getResultsSince(2_001).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should drop every result on clear and archive again afterwards")
+    void shouldDropEveryResultOnClear() {
+        // Given
+        archive.add(Game.start(Country.of("Spain"), Country.of("France")), 2_000);
+        archive.add(Game.start(Country.of("Germany"), Country.of("Spain")), 3_000);
+
+        // When
+        archive.clear();
+        archive.add(Game.start(Country.of("Mexico"), Country.of("Canada")).updateScore(1, 0), 1_000);
+
+        // Then
+        assertEquals(1, archive.size());
+        assertTrue(archive.getResults(Country.of("Spain")).isEmpty());
+        assertEquals(List.of("Mexico 1 - 0 Canada"),
+            archive.getResultsSince(1_000).stream().map(FinishedGame::toString).toList());
+    }
+
+    @Test
+    @DisplayName("Should keep every result when archive grows")
+    void shouldKeepEveryResultWhenArchiveGrows() {
+        // Given
+        for (int i = 0; i < 1_000; i++) {
+            playGame("Spain", "France", i, 0);
+        }
+
+        // When
+        List<FinishedGame> results = archive.getResults(Country.of("France"));
+
+        // Then
+        assertEquals(1_000, archive.size());
+        assertEquals(1_000, results.size());
+        assertEquals(999, results.getLast().getHomeScore());
+    }
+
+    @Test
+    @DisplayName("Should report the real end time of a game finished after the clock went back")
+    void shouldReportRealEndTimeAfterClockWentBack() {
+        // Given
+        archive.add(Game.start(Country.of("Spain"), Country.of("France")), 2_000);
+
+        // When
+        archive.add(Game.start(Country.of("Germany"), Country.of("Italy")), 1_500);
+
+        // Then
+        assertEquals(1_500, archive.getResults().getLast().getEndEpochMillis());
+        assertEquals(List.of("Spain 0 - 0 France", "Germany 0 - 0 Italy"),
+            archive.getResultsSince(1_000).stream().map(FinishedGame::toString).toList());
+        assertEquals(List.of("Spain 0 - 0 France"),
+            archive.getResultsSince(1_800).stream().map(FinishedGame::toString).toList());
+    }
+
+    @Test
+    @DisplayName("Should drop games finished before the retention window")
+    void shouldDropGamesFinishedBeforeRetentionWindow() {
+        // Given
+        GameArchive retaining = new GameArchive(Duration.ofMillis(1_000));
+        for (int i = 0; i < 1_000; i++) {
+            retaining.add(Game.start(Country.of("Spain"), Country.of("France")).updateScore(i, 0), i * 100L);
+        }
+
+        // When
+        retaining.add(Game.start(Country.of("Germany"), Country.of("Spain")), 100_000);
+
+        // Then
+        assertEquals(List.of("Spain 990 - 0 France", "Spain 991 - 0 France", "Spain 992 - 0 France",
+                "Spain 993 - 0 France", "Spain 994 - 0 France", "Spain 995 - 0 France", "Spain 996 - 0 France",
+                "Spain 997 - 0 France", "Spain 998 - 0 France", "Spain 999 - 0 France", "Germany 0 - 0 Spain"),
+            retaining.getResults().stream().map(FinishedGame::toString).toList());
+        assertEquals(11, retaining.getResults(Country.of("Spain")).size());
+        assertEquals(10, retaining.getResults(Country.of("France")).size());
+        assertEquals(2, retaining.getResultsSince(99_900).size());
+    }
+
+    private void playGame(String homeTeam, String awayTeam, int homeScore, int awayScore) {
+        scoreboard.startGame(Country.of(homeTeam), Country.of(awayTeam));
+        scoreboard.updateScore(Country.of(homeTeam), Country.of(awayTeam), homeScore, awayScore);
+        scoreboard.finishGame(Country.of(homeTeam), Country.of(awayTeam));
+    }
+}
@@ -0,0 +1,65 @@
+package io.eagle44;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameTableTest {
+    private static final Game SAMPLE_GAME = Game.start(Country.of(TestFixtures.SAMPLE_HOME_TEAM), Country.of(TestFixtures.SAMPLE_AWAY_TEAM));
+
+    private GameTable table;
+
+    @BeforeEach
+    void setUp() {
+        table = new GameTable();
+    }
+
+    @Test
+    @DisplayName("Should store, replace and remove games by key")
+    void shouldStoreReplaceAndRemoveGamesByKey() {
+        // Given
+        Game updatedGame = SAMPLE_GAME.updateScore(1, 0);
+
+        // When
+        Game absent = table.put(42, SAMPLE_GAME);
+        Game replaced = table.put(42, updatedGame);
+
+        // Then
+        assertNull(absent);
+        assertSame(SAMPLE_GAME, replaced);
+        assertSame(updatedGame, table.get(42));
+        assertEquals(1, table.size());
+        assertSame(updatedGame, table.remove(42));
+        assertNull(table.get(42));
+        assertNull(table.remove(42));
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    @DisplayName("Should behave like a map over many random operations")
+    void shouldBehaveLikeMapOverManyRandomOperations() {
+        // Given
+        Map<Integer, Game> expected = new HashMap<>();
+        Random random = new Random(44);
+
+        // When/Then
+        for (int operation = 0; operation < 100_000; operation++) {
+            int key = random.nextInt(2_000);
+            if (random.nextBoolean()) {
+                assertSame(expected.put(key, SAMPLE_GAME), table.put(key, SAMPLE_GAME));
+            } else {
+                assertSame(expected.remove(key), table.remove(key));
+            }
+            assertEquals(expected.size(), table.size());
+        }
+        for (int key = 0; key < 2_000; key++) {
+            assertSame(expected.get(key), table.get(key));
+        }
+    }
+}
@@ -66,4 +66,35 @@ class GameTest {
         assertEquals(TestFixtures.SAMPLE_HOME_SCORE + TestFixtures.SAMPLE_AWAY_SCORE, totalScore);
     }
 
+    @Test
+    @DisplayName("Should keep start time and sequence across score updates")
+    void shouldKeepStartTimeAndSequenceAcrossScoreUpdates() {
+        // Given
+        Game started = Game.start(Country.of(TestFixtures.SAMPLE_HOME_TEAM), Country.of(TestFixtures.SAMPLE_AWAY_TEAM));
+
+        // When
+        Game updated = started.updateScore(2, 1);
+
+        // Then
+        assertEquals(started.getStartEpochMillis(), updated.getStartEpochMillis());
+        assertEquals(started.getSequence(), updated.getSequence());
+        assertEquals(started.getStartTime(), updated.getStartTime());
+    }
+
+    @Test
+    @DisplayName("Should order games with equal total by most recent start, even within one clock tick")
+    void shouldOrderGamesWithEqualTotalByMostRecentStart() {
+        // Given
+        long now = System.currentTimeMillis();
+        Game first = new Game(Country.of("Spain"), Country.of("France"), 1, 0, now, Game.nextSequence());
+        Game second = new Game(Country.of("Germany"), Country.of("Italy"), 0, 1, now, Game.nextSequence());
+
+        // When
+        int comparison = Game.SUMMARY_ORDER.compare(first, second);
+
+        // Then
+        assertTrue(comparison > 0);
+        assertTrue(Game.SUMMARY_ORDER.compare(first.updateScore(2, 0), second) < 0);
+    }
+
 } 
\ No newline at end of file
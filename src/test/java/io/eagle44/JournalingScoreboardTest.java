@@ -0,0 +1,318 @@
+package io.eagle44;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalingScoreboardTest {
+    // Opcode and two team ordinals, or also two one-byte scores, framed by a length byte and a checksum
+    private static final int START_RECORD_SIZE = 1 + 3 + 4;
+    private static final int UPDATE_RECORD_SIZE = 1 + 5 + 4;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should rebuild scoreboard from journal after restart")
+    void shouldRebuildScoreboardFromJournalAfterRestart() throws Exception {
+        // Given
+        Path journal = directory.resolve("games.journal");
+        try (JournalingScoreboard scoreboard = JournalingScoreboard.open(journal, new InMemoryScoreboard())) {
+            scoreboard.startGame(Country.of("Spain"), Country.of("France"));
+            scoreboard.startGame(Country.of("Mexico"), Country.of("Canada"));
+            scoreboard.startGame(Country.of("Germany"), Country.of("Italy"));
+            scoreboard.updateScore(Country.of("Spain"), Country.of("France"), 2, 1);
+            scoreboard.finishGame(Country.of("Germany"), Country.of("Italy"));
+            scoreboard.applyBatch(List.of(
+                Command.create("update", "Mexico", "Canada", "0", "3"),
+                Command.create("start", "Atlantis", "Canada")
+            ));
+        }
+
+        // When
+        InMemoryScoreboard recovered = new InMemoryScoreboard();
+        try (JournalingScoreboard scoreboard = JournalingScoreboard.open(journal, recovered)) {
+
+            // Then
+            assertEquals(List.of("Mexico 0 - 3 Canada", "Spain 2 - 1 France"),
+                scoreboard.getGameSummary().stream().map(Game::toString).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop record torn by a crash and keep appending after it")
+    void shouldDropTornRecordAndKeepAppending() throws Exception {
+        // Given
+        Path journal = directory.resolve("games.journal");
+        try (JournalingScoreboard scoreboard = JournalingScoreboard.open(journal, new InMemoryScoreboard())) {
+            scoreboard.startGame(Country.of("Spain"), Country.of("France"));
+        }
+        long intactSize = Files.size(journal);
+        Files.write(journal, new byte[] {2, 5}, StandardOpenOption.APPEND);
+
+        // When
+        try (JournalingScoreboard scoreboard = JournalingScoreboard.open(journal, new InMemoryScoreboard())) {
+            scoreboard.updateScore(Country.of("Spain"), Country.of("France"), 1, 0);
+        }
+        InMemoryScoreboard recovered = new InMemoryScoreboard();
+        long replayedSize = GameJournal.replay(journal, recovered);
+
+        // Then
+        assertEquals(intactSize + UPDATE_RECORD_SIZE, replayedSize);
+        assertEquals(intactSize + UPDATE_RECORD_SIZE, Files.size(journal));
+        assertEquals(1, recovered.getGameSummary().getFirst().getHomeScore());
+    }
+
+    @Test
+    @DisplayName("Should drop zero-filled tail left by a crash and keep appending after it")
+    void shouldDropZeroFilledTailAndKeepAppending() throws Exception {
+        // Given
+        Path journal = directory.resolve("games.journal");
+        try (JournalingScoreboard scoreboard = JournalingScoreboard.open(journal, new InMemoryScoreboard())) {
+            scoreboard.startGame(Country.of("Spain"), Country.of("France"));
+        }
+        long intactSize = Files.size(journal);
+        Files.write(journal, new byte[8], StandardOpenOption.APPEND);
+
+        // When
+        try (JournalingScoreboard scoreboard = JournalingScoreboard.open(journal, new InMemoryScoreboard())) {
+            scoreboard.updateScore(Country.of("Spain"), Country.of("France"), 1, 0);
+        }
+        InMemoryScoreboard recovered = new InMemoryScoreboard();
+        long replayedSize = GameJournal.replay(journal, recovered);
+
+        // Then
+        assertEquals(intactSize + UPDATE_RECORD_SIZE, replayedSize);
+        assertEquals(intactSize + UPDATE_RECORD_SIZE, Files.size(journal));
+        assertEquals(1, recovered.getGameSummary().getFirst().getHomeScore());
+    }
+
+    @Test
+    @DisplayName("Should refuse to recover a journal with a corrupt record before intact ones")
+    void shouldRefuseToRecoverJournalWithCorruptRecordInTheMiddle() throws Exception {
+        // Given
+        Path journal = directory.resolve("games.journal");
+        try (JournalingScoreboard scoreboard = JournalingScoreboard.open(journal, new InMemoryScoreboard())) {
+            scoreboard.startGame(Country.of("Spain"), Country.of("France"));
+            scoreboard.updateScore(Country.of("Spain"), Country.of("France"), 1, 0);
+            scoreboard.updateScore(Country.of("Spain"), Country.of("France"), 2, 0);
+        }
+        long size = Files.size(journal);
+        long corruptScore = size - 2 * UPDATE_RECORD_SIZE + 4;
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {9}), corruptScore);
+        }
+
+        // When
+        IOException exception = assertThrows(IOException.class,
+            () -> JournalingScoreboard.open(journal, new InMemoryScoreboard()));
+
+        // Then
+        assertTrue(exception.getMessage().startsWith("Corrupt journal record at byte " + (size - 2 * UPDATE_RECORD_SIZE)),
+            exception.getMessage());
+        assertEquals(size, Files.size(journal));
+    }
+
+    @Test
+    @DisplayName("Should keep changes made after recovering a journal shorter than its snapshot")
+    void shouldKeepChangesAfterRecoveringJournalShorterThanSnapshot() throws Exception {
+        // Given
+        Path journal = directory.resolve("games.journal");
+        InMemoryScoreboard live = new InMemoryScoreboard();
+        try (JournalingScoreboard scoreboard = JournalingScoreboard.open(journal, live)) {
+            scoreboard.startGame(Country.of("Spain"), Country.of("France"));
+        }
+        long headerSize = Files.size(journal) - START_RECORD_SIZE;
+        SnapshotFile.write(journal.resolveSibling("games.journal.snapshot"), live.getSnapshot(), START_RECORD_SIZE);
+        // Crash before the start reached the journal on disk
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+            channel.truncate(headerSize);
+        }
+        try (JournalingScoreboard scoreboard = JournalingScoreboard.open(journal, new InMemoryScoreboard())) {
+            scoreboard.startGame(Country.of("Brazil"), Country.of("Chile"));
+        }
+
+        // When
+        try (JournalingScoreboard scoreboard = JournalingScoreboard.open(journal, new InMemoryScoreboard())) {
+
+            // Then
+            assertTrue(scoreboard.hasGame(Country.of("Spain"), Country.of("France")));
+            assertTrue(scoreboard.hasGame(Country.of("Brazil"), Country.of("Chile")));
+        }
+    }
+
+    @Test
+    @DisplayName("Should restore archived results with their original end times after restart")
+    void shouldRestoreArchivedResultsAfterRestart() throws Exception {
+        // Given
+        Path journal = directory.resolve("games.journal");
+        GameArchive archive = new GameArchive();
+        try (JournalingScoreboard scoreboard = JournalingScoreboard.open(journal, new InMemoryScoreboard(archive),
+            archive)) {
+            scoreboard.startGame(Country.of("Spain"), Country.of("France"));
+            scoreboard.updateScore(Country.of("Spain"), Country.of("France"), 2, 1);
+            scoreboard.finishGame(Country.of("Spain"), Country.of("France"));
+            scoreboard.startGame(Country.of("Germany"), Country.of("Italy"));
+            scoreboard.writeSnapshot();
+            scoreboard.applyBatch(List.of(Command.create("update", "Germany", "Italy", "0", "3"),
+                Command.create("finish", "Germany", "Italy")));
+            scoreboard.startGame(Country.of("Mexico"), Country.of("Canada"));
+            scoreboard.finishGame(Country.of("Mexico"), Country.of("Canada"));
+        }
+        List<FinishedGame> finished = archive.getResults();
+
+        // When
+        GameArchive restored = new GameArchive();
+        try (JournalingScoreboard scoreboard = JournalingScoreboard.open(journal, new InMemoryScoreboard(restored),
+            restored)) {
+
+            // Then
+            List<FinishedGame> results = restored.getResults();
+            assertEquals(List.of("Spain 2 - 1 France", "Germany 0 - 3 Italy", "Mexico 0 - 0 Canada"),
+                results.stream().map(FinishedGame::toString).toList());
+            assertEquals(finished.stream().map(FinishedGame::getStartEpochMillis).toList(),
+                results.stream().map(FinishedGame::getStartEpochMillis).toList());
+            assertEquals(finished.stream().map(FinishedGame::getEndEpochMillis).toList(),
+                results.stream().map(FinishedGame::getEndEpochMillis).toList());
+            assertEquals(0, scoreboard.getGameCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Should make every change durable before it returns")
+    void shouldMakeChangesDurableBeforeTheyReturn() throws Exception {
+        // Given
+        Path journal = directory.resolve("games.journal");
+        try (JournalingScoreboard scoreboard = JournalingScoreboard.open(journal, new InMemoryScoreboard())) {
+
+            // When
+            scoreboard.startGame(Country.of("Spain"), Country.of("France"));
+            scoreboard.updateScore(Country.of("Spain"), Country.of("France"), 1, 0);
+
+            // Then
+            InMemoryScoreboard recovered = new InMemoryScoreboard();
+            GameJournal.replay(journal, recovered);
+            assertEquals(List.of("Spain 1 - 0 France"), recovered.getGameSummary().stream().map(Game::toString).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Should make appended changes durable on flush")
+    void shouldMakeAppendedChangesDurableOnFlush() throws Exception {
+        // Given
+        Path journal = directory.resolve("games.journal");
+        try (GameJournal gameJournal = GameJournal.recover(journal, new InMemoryScoreboard())) {
+            gameJournal.append(CommandType.START, Country.of("Spain"), Country.of("France"), 0, 0);
+            for (int goals = 1; goals <= 50_000; goals++) {
+                gameJournal.append(CommandType.UPDATE, Country.of("Spain"), Country.of("France"), goals, 0);
+            }
+
+            // When
+            gameJournal.flush();
+
+            // Then
+            InMemoryScoreboard recovered = new InMemoryScoreboard();
+            GameJournal.replay(journal, recovered);
+            assertEquals(50_000, recovered.getGameSummary().getFirst().getHomeScore());
+        }
+    }
+
+    @Test
+    @DisplayName("Should restore from snapshot and replay only the journal behind it")
+    void shouldRestoreFromSnapshotAndReplayJournalTail() throws Exception {
+        // Given
+        Path journal = directory.resolve("games.journal");
+        long journalSizeBeforeSnapshot;
+        try (JournalingScoreboard scoreboard = JournalingScoreboard.open(journal, new InMemoryScoreboard())) {
+            scoreboard.startGame(Country.of("Spain"), Country.of("France"));
+            scoreboard.startGame(Country.of("Germany"), Country.of("Italy"));
+            for (int goals = 1; goals <= 1_000; goals++) {
+                scoreboard.updateScore(Country.of("Spain"), Country.of("France"), goals, 0);
+            }
+            scoreboard.flush();
+            journalSizeBeforeSnapshot = Files.size(journal);
+
+            // When
+            scoreboard.writeSnapshot();
+            scoreboard.updateScore(Country.of("Germany"), Country.of("Italy"), 1, 1);
+            scoreboard.startGame(Country.of("Mexico"), Country.of("Canada"));
+        }
+        InMemoryScoreboard recovered = new InMemoryScoreboard();
+        try (JournalingScoreboard scoreboard = JournalingScoreboard.open(journal, recovered)) {
+
+            // Then
+            assertTrue(Files.exists(directory.resolve("games.journal.snapshot")));
+            assertTrue(Files.size(journal) < journalSizeBeforeSnapshot);
+            assertEquals(List.of("Spain 1000 - 0 France", "Germany 1 - 1 Italy", "Mexico 0 - 0 Canada"),
+                scoreboard.getGameSummary().stream().map(Game::toString).toList());
+        }
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should restore games from a snapshot with their original start times")
+    @MethodSource("restoredScoreboardsProvider")
+    void shouldRestoreGamesWithOriginalStartTimes(Scoreboard restored) throws Exception {
+        // Given
+        Path snapshot = directory.resolve("games.journal.snapshot");
+        InMemoryScoreboard live = new InMemoryScoreboard();
+        live.restoreGame(Game.restore(Country.of("Spain"), Country.of("France"), 0, 0, 1_000));
+        live.restoreGame(Game.restore(Country.of("Germany"), Country.of("Italy"), 2, 1, 2_000));
+        live.restoreGame(Game.restore(Country.of("Mexico"), Country.of("Canada"), 0, 0, 3_000));
+        SnapshotFile.write(snapshot, live.getSnapshot(), 0);
+
+        // When
+        SnapshotFile.load(snapshot, restored);
+
+        // Then
+        List<Game> summary = restored.getGameSummary();
+        assertEquals(List.of("Germany 2 - 1 Italy", "Mexico 0 - 0 Canada", "Spain 0 - 0 France"),
+            summary.stream().map(Game::toString).toList());
+        assertEquals(List.of(2_000L, 3_000L, 1_000L), summary.stream().map(Game::getStartEpochMillis).toList());
+        if (restored instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static Stream<Scoreboard> restoredScoreboardsProvider() {
+        return Stream.of(new InMemoryScoreboard(), new ConcurrentScoreboard(), new ArrayScoreboard(),
+            new PartitionedScoreboard(2));
+    }
+
+    @Test
+    @DisplayName("Should keep journal tail intact across repeated snapshots and restarts")
+    void shouldKeepJournalTailAcrossRepeatedSnapshots() throws Exception {
+        // Given
+        Path journal = directory.resolve("games.journal");
+        try (JournalingScoreboard scoreboard = JournalingScoreboard.open(journal, new InMemoryScoreboard())) {
+            scoreboard.startGame(Country.of("Spain"), Country.of("France"));
+            scoreboard.writeSnapshot();
+            scoreboard.finishGame(Country.of("Spain"), Country.of("France"));
+            scoreboard.startGame(Country.of("Germany"), Country.of("Italy"));
+        }
+        try (JournalingScoreboard scoreboard = JournalingScoreboard.open(journal, new InMemoryScoreboard())) {
+            scoreboard.writeSnapshot();
+            scoreboard.updateScore(Country.of("Germany"), Country.of("Italy"), 2, 0);
+        }
+
+        // When
+        try (JournalingScoreboard scoreboard = JournalingScoreboard.open(journal, new InMemoryScoreboard())) {
+
+            // Then
+            assertEquals(List.of("Germany 2 - 0 Italy"),
+                scoreboard.getGameSummary().stream().map(Game::toString).toList());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package io.eagle44;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Should map every value into a bucket that contains it")
+    void shouldMapEveryValueIntoBucketThatContainsIt() {
+        // Given
+        long[] values = {0, 1, 7, 8, 9, 15, 16, 1000, 123_456_789, Long.MAX_VALUE};
+
+        for (long value : values) {
+            // When
+            int bucket = LatencyHistogram.bucketOf(value);
+
+            // Then
+            assertTrue(LatencyHistogram.lowestValueOf(bucket) <= value, "lowest of " + value);
+            assertTrue(LatencyHistogram.highestValueOf(bucket) >= value, "highest of " + value);
+            assertTrue(LatencyHistogram.highestValueOf(bucket) - LatencyHistogram.lowestValueOf(bucket)
+                <= LatencyHistogram.lowestValueOf(bucket) / 8, "width of " + value);
+        }
+    }
+
+    @Test
+    @DisplayName("Should report quantiles within bucket precision")
+    void shouldReportQuantilesWithinBucketPrecision() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 1000; nanos++) {
+            histogram.record(nanos * 1000);
+        }
+
+        // When
+        long median = histogram.getValueAtQuantile(0.5);
+        long p99 = histogram.getValueAtQuantile(0.99);
+
+        // Then
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        assertTrue(median >= 500_000 && median <= 500_000 * 1.125, "median " + median);
+        assertTrue(p99 >= 990_000 && p99 <= 1_000_000, "p99 " + p99);
+        assertEquals(0, new LatencyHistogram().getValueAtQuantile(0.5));
+    }
+}
@@ -0,0 +1,80 @@
+package io.eagle44;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveKeysTest {
+
+    @Test
+    @DisplayName("Should iterate the added keys in order")
+    void shouldIterateAddedKeysInOrder() {
+        // Given
+        LiveKeys keys = new LiveKeys(GameKeys.CAPACITY);
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(2);
+        for (int i = 0; i < 2_000; i++) {
+            int key = random.nextInt(GameKeys.CAPACITY);
+            if (random.nextInt(3) == 0) {
+                keys.remove(key);
+                expected.remove(key);
+            } else {
+                keys.add(key);
+                expected.add(key);
+            }
+        }
+
+        // When
+        List<Integer> iterated = new ArrayList<>();
+        for (int key = keys.next(0); key >= 0; key = keys.next(key + 1)) {
+            iterated.add(key);
+        }
+
+        // Then
+        assertEquals(new ArrayList<>(expected), iterated);
+        assertEquals(-1, new LiveKeys(GameKeys.CAPACITY).next(0));
+        assertEquals(-1, keys.next(GameKeys.CAPACITY));
+    }
+
+    @Test
+    @DisplayName("Should keep concurrently added keys of the same word")
+    void shouldKeepConcurrentlyAddedKeysOfSameWord() throws Exception {
+        // Given
+        LiveKeys keys = new LiveKeys(GameKeys.CAPACITY);
+        int threads = 4;
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int thread = 0; thread < threads; thread++) {
+                int key = 64 * 7 + thread;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        keys.add(key);
+                        keys.remove(key);
+                    }
+                    keys.add(key);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        // Then
+        List<Integer> iterated = new ArrayList<>();
+        for (int key = keys.next(0); key >= 0; key = keys.next(key + 1)) {
+            iterated.add(key);
+        }
+        assertEquals(List.of(448, 449, 450, 451), iterated);
+    }
+}
@@ -0,0 +1,165 @@
+package io.eagle44;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveScoreboardBatchItTest {
+    @TempDir
+    Path directory;
+
+    private ByteArrayOutputStream outputStream;
+    private ByteArrayOutputStream errorStream;
+    private int outputWrites;
+    private PrintStream originalOut;
+    private PrintStream originalErr;
+    private InputStream originalIn;
+
+    @BeforeEach
+    void setUp() {
+        originalOut = System.out;
+        originalErr = System.err;
+        originalIn = System.in;
+        outputStream = new ByteArrayOutputStream();
+        errorStream = new ByteArrayOutputStream();
+        // Counts the writes reaching the console, to tell buffered output from a write per line
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+                outputWrites++;
+                outputStream.write(b);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                outputWrites++;
+                outputStream.write(bytes, offset, length);
+            }
+        }));
+        System.setErr(new PrintStream(errorStream));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+        System.setErr(originalErr);
+        System.setIn(originalIn);
+    }
+
+    @Test
+    @DisplayName("Should write buffered output without prompts or confirmations")
+    void shouldWriteBufferedOutputWithoutPrompts() {
+        // Given
+        String input = String.join("\n",
+            "start Spain France",
+            "start Germany Italy",
+            "update Spain France 2 1",
+            "summary",
+            "summary"
+        );
+        System.setIn(new ByteArrayInputStream(input.getBytes()));
+
+        // When
+        LiveScoreboard.main(new String[] {"--batch"});
+
+        // Then
+        String output = outputStream.toString();
+        String summary = String.join(System.lineSeparator(), "Game Summary:", "Spain 2 - 1 France",
+            "Germany 0 - 0 Italy", "");
+        assertEquals(summary + summary, output);
+        assertEquals(1, outputWrites);
+    }
+
+    @Test
+    @DisplayName("Should report errors with their line number and keep going")
+    void shouldReportErrorsWithLineNumberAndKeepGoing() {
+        // Given
+        String input = String.join("\n",
+            "start Spain France",
+            "",
+            "update Spain Atlantis 1 0",
+            "finish Germany Italy",
+            "update Spain France 1 0",
+            "summary"
+        );
+        System.setIn(new ByteArrayInputStream(input.getBytes()));
+
+        // When
+        LiveScoreboard.main(new String[] {"--batch"});
+
+        // Then
+        String output = outputStream.toString();
+        assertTrue(output.contains("Error at line 3: Invalid country name"));
+        assertTrue(output.contains("Error at line 4: Game not found"));
+        assertTrue(output.endsWith("Game Summary:" + System.lineSeparator() + "Spain 1 - 0 France"
+            + System.lineSeparator()));
+    }
+
+    @Test
+    @DisplayName("Should report command count and errors at the end")
+    void shouldReportCommandCountAndErrorsAtEnd() throws Exception {
+        // Given
+        Path commands = directory.resolve("commands.txt");
+        Files.writeString(commands, String.join("\n",
+            "start Spain France",
+            "update Spain France x 0",
+            "finish Spain France",
+            "exit",
+            "start Germany Italy"
+        ));
+
+        // When
+        LiveScoreboard.main(new String[] {"--batch", commands.toString()});
+
+        // Then
+        String report = errorStream.toString().trim();
+        assertTrue(report.matches("Processed 3 commands in \\d+[.,]\\d{3} s \\(\\d+ commands/s\\), 1 errors"), report);
+        assertEquals("Error at line 2: Invalid score format" + System.lineSeparator(), outputStream.toString());
+    }
+
+    @Test
+    @DisplayName("Should apply the latest coalesced score before the next start")
+    void shouldApplyLatestCoalescedScoreBeforeNextStart() {
+        // Given
+        String input = String.join("\n",
+            "start Spain France",
+            "update Spain France 1 0",
+            "update Spain France 2 0",
+            "start Germany Italy",
+            "summary"
+        );
+        System.setIn(new ByteArrayInputStream(input.getBytes()));
+
+        // When
+        LiveScoreboard.main(new String[] {"--batch", "--coalesce", "60000"});
+
+        // Then
+        assertEquals(String.join(System.lineSeparator(), "Game Summary:", "Spain 2 - 0 France",
+            "Germany 0 - 0 Italy", ""), outputStream.toString());
+    }
+
+    @Test
+    @DisplayName("Should reject coalescing over array storage")
+    void shouldRejectCoalescingOverArrayStorage() {
+        // When
+        LiveScoreboard.main(new String[] {"--batch", "--array-storage", "--coalesce", "100"});
+
+        // Then
+        String errors = errorStream.toString();
+        assertTrue(errors.startsWith("Error: --array-storage cannot be combined with --coalesce"), errors);
+        assertTrue(errors.contains(LaunchOptions.USAGE));
+        assertEquals("", outputStream.toString());
+    }
+}
@@ -9,6 +9,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class LiveScoreboardItTest {
@@ -173,5 +174,124 @@ class LiveScoreboardItTest {
         assertTrue(output.contains("Error: Game not found"));
         assertTrue(output.contains("No games in progress"));
     }
-    
+
+    @Test
+    @DisplayName("Should display only the first games of a limited summary")
+    void shouldDisplayOnlyFirstGamesOfLimitedSummary() {
+        // Given
+        String input = String.join("\n",
+            "start Spain France",
+            "start Germany Italy",
+            "update Germany Italy 1 0",
+            "summary 1"
+        );
+        inputStream = new ByteArrayInputStream(input.getBytes());
+        System.setIn(inputStream);
+
+        // When
+        LiveScoreboard.main(null);
+
+        // Then
+        String output = outputStream.toString();
+        assertTrue(output.contains("Game Summary:" + System.lineSeparator() + "Germany 1 - 0 Italy"));
+        assertFalse(output.contains("Germany 1 - 0 Italy" + System.lineSeparator() + "Spain"));
+    }
+
+    @Test
+    @DisplayName("Should display results of finished games")
+    void shouldDisplayResultsOfFinishedGames() {
+        // Given
+        String input = String.join("\n",
+            "start Spain France",
+            "update Spain France 2 1",
+            "finish Spain France",
+            "start Germany Italy",
+            "finish Germany Italy",
+            "results",
+            "results Italy"
+        );
+        inputStream = new ByteArrayInputStream(input.getBytes());
+        System.setIn(inputStream);
+
+        // When
+        LiveScoreboard.main(null);
+
+        // Then
+        String output = outputStream.toString();
+        assertTrue(output.contains(String.join(System.lineSeparator(),
+            "Results:", "Spain 2 - 1 France", "Germany 0 - 0 Italy")));
+        assertTrue(output.contains("Results:" + System.lineSeparator() + "Germany 0 - 0 Italy"
+            + System.lineSeparator() + ">"));
+    }
+
+    @Test
+    @DisplayName("Should keep competitions apart")
+    void shouldKeepCompetitionsApart() {
+        // Given
+        String input = String.join("\n",
+            "start Spain France",
+            "@euro start Germany Italy",
+            "@euro update Germany Italy 1 0",
+            "@euro summary",
+            "@euro finish Spain France",
+            "@ summary"
+        );
+        inputStream = new ByteArrayInputStream(input.getBytes());
+        System.setIn(inputStream);
+
+        // When
+        LiveScoreboard.main(null);
+
+        // Then
+        String output = outputStream.toString();
+        assertTrue(output.contains("Germany 1 - 0 Italy"));
+        assertFalse(output.contains("Spain 0 - 0 France" + System.lineSeparator() + "Germany"));
+    }
+
+    @Test
+    @DisplayName("Should print operation and rejection metrics")
+    void shouldPrintOperationAndRejectionMetrics() {
+        // Given
+        String input = String.join("\n",
+            "start Spain France",
+            "start Spain France",
+            "invalid",
+            "summary",
+            "metrics"
+        );
+        inputStream = new ByteArrayInputStream(input.getBytes());
+        System.setIn(inputStream);
+
+        // When
+        LiveScoreboard.main(null);
+
+        // Then
+        String output = outputStream.toString();
+        assertTrue(output.contains("scoreboard_operations_total{operation=\"start\",outcome=\"success\"} 1"));
+        assertTrue(output.contains("scoreboard_operations_total{operation=\"start\",outcome=\"failure\"} 1"));
+        assertTrue(output.contains("scoreboard_rejected_commands_total 1"));
+        assertTrue(output.contains("scoreboard_live_games 1"));
+    }
+
+    @Test
+    @DisplayName("Should count live games of every competition in the metrics")
+    void shouldCountLiveGamesOfEveryCompetitionInTheMetrics() {
+        // Given
+        String input = String.join("\n",
+            "start Spain France",
+            "@euro start Germany Italy",
+            "@copa start Brazil Argentina",
+            "@copa metrics"
+        );
+        inputStream = new ByteArrayInputStream(input.getBytes());
+        System.setIn(inputStream);
+
+        // When
+        LiveScoreboard.main(null);
+
+        // Then
+        String output = outputStream.toString();
+        assertTrue(output.contains("scoreboard_operations_total{operation=\"start\",outcome=\"success\"} 3"));
+        assertTrue(output.contains("scoreboard_live_games 3"));
+    }
 } 
\ No newline at end of file
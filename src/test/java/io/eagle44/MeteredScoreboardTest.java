@@ -0,0 +1,76 @@
+package io.eagle44;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeteredScoreboardTest {
+    private static final Country SPAIN = Country.of("Spain");
+    private static final Country FRANCE = Country.of("France");
+
+    private ScoreboardMetrics metrics;
+    private MeteredScoreboard scoreboard;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new ScoreboardMetrics();
+        scoreboard = new MeteredScoreboard(new InMemoryScoreboard(), metrics);
+    }
+
+    @Test
+    @DisplayName("Should count successful and failed operations")
+    void shouldCountSuccessfulAndFailedOperations() {
+        // Given
+        scoreboard.startGame(SPAIN, FRANCE);
+
+        // When
+        assertThrows(IllegalArgumentException.class, () -> scoreboard.startGame(SPAIN, FRANCE));
+        scoreboard.updateScore(SPAIN, FRANCE, 1, 0);
+        scoreboard.getGameSummary();
+        scoreboard.finishGame(SPAIN, FRANCE);
+
+        // Then
+        assertEquals(1, metrics.getSuccessCount(ScoreboardMetrics.Operation.START));
+        assertEquals(1, metrics.getFailureCount(ScoreboardMetrics.Operation.START));
+        assertEquals(1, metrics.getSuccessCount(ScoreboardMetrics.Operation.UPDATE));
+        assertEquals(1, metrics.getSuccessCount(ScoreboardMetrics.Operation.SUMMARY));
+        assertEquals(1, metrics.getSuccessCount(ScoreboardMetrics.Operation.FINISH));
+    }
+
+    @Test
+    @DisplayName("Should record nothing while disabled")
+    void shouldRecordNothingWhileDisabled() {
+        // Given
+        metrics.setEnabled(false);
+
+        // When
+        scoreboard.startGame(SPAIN, FRANCE);
+        metrics.commandRejected();
+
+        // Then
+        assertTrue(scoreboard.hasGame(SPAIN, FRANCE));
+        assertEquals(0, metrics.getSuccessCount(ScoreboardMetrics.Operation.START));
+        assertEquals(0, metrics.getRejectedCommandCount());
+        assertEquals(0, metrics.getLatencyNanos(ScoreboardMetrics.Operation.START, 0.99));
+    }
+
+    @Test
+    @DisplayName("Should render metrics in Prometheus text format")
+    void shouldRenderMetricsInPrometheusTextFormat() {
+        // Given
+        scoreboard.startGame(SPAIN, FRANCE);
+        metrics.summaryRendered(42);
+
+        // When
+        String text = scoreboard.renderMetrics();
+
+        // Then
+        assertTrue(text.contains("# TYPE scoreboard_operation_latency_seconds summary\n"));
+        assertTrue(text.contains("scoreboard_operation_latency_seconds_count{operation=\"start\"} 1\n"));
+        assertTrue(text.contains("scoreboard_live_games 1\n"));
+        assertTrue(text.contains("scoreboard_summary_bytes 42\n"));
+        assertEquals(0, metrics.getSuccessCount(ScoreboardMetrics.Operation.SUMMARY));
+    }
+}
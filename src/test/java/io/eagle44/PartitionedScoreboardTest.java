@@ -0,0 +1,249 @@
+package io.eagle44;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedScoreboardTest {
+    private static final int THREADS = 8;
+    private static final int PARTITIONS = 4;
+
+    private PartitionedScoreboard scoreboard;
+
+    @BeforeEach
+    void setUp() {
+        scoreboard = new PartitionedScoreboard(PARTITIONS, 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scoreboard.close();
+    }
+
+    @Test
+    @DisplayName("Should start, update and finish games and report errors of the owning partition")
+    void shouldStartUpdateAndFinishGames() {
+        // Given
+        Country homeTeam = Country.of(TestFixtures.SAMPLE_HOME_TEAM);
+        Country awayTeam = Country.of(TestFixtures.SAMPLE_AWAY_TEAM);
+        Game started = scoreboard.startGame(homeTeam, awayTeam);
+
+        // When
+        scoreboard.updateScore(homeTeam, awayTeam, 2, 1);
+
+        // Then
+        assertEquals(homeTeam, started.getHomeTeam());
+        assertTrue(scoreboard.hasGame(homeTeam, awayTeam));
+        assertEquals(3, scoreboard.getGameSummary().getFirst().getTotalScore());
+        assertEquals("Game already exists", assertThrows(IllegalArgumentException.class,
+            () -> scoreboard.startGame(homeTeam, awayTeam)).getMessage());
+        scoreboard.finishGame(homeTeam, awayTeam);
+        assertEquals("Game not found", assertThrows(IllegalArgumentException.class,
+            () -> scoreboard.finishGame(homeTeam, awayTeam)).getMessage());
+        assertEquals(0, scoreboard.getGameCount());
+    }
+
+    @Test
+    @DisplayName("Should merge the partitions into the same summary as a single scoreboard")
+    void shouldMergePartitionsIntoSameSummaryAsSingleScoreboard() {
+        // Given
+        InMemoryScoreboard expected = new InMemoryScoreboard();
+        List<String> countries = TestFixtures.VALID_COUNTRIES;
+        for (int i = 0; i + 1 < countries.size() && i < 40; i += 2) {
+            Country homeTeam = Country.of(countries.get(i));
+            Country awayTeam = Country.of(countries.get(i + 1));
+            Game game = scoreboard.startGame(homeTeam, awayTeam);
+            scoreboard.updateScore(homeTeam, awayTeam, i % 5, i % 3);
+            expected.startGame(homeTeam, awayTeam);
+            expected.updateScore(homeTeam, awayTeam, i % 5, i % 3);
+            assertNotNull(game);
+        }
+
+        // When
+        List<Game> summary = scoreboard.getGameSummary();
+
+        // Then
+        assertEquals(20, scoreboard.getGameCount());
+        assertEquals(describe(expected.getGameSummary()), describe(summary));
+        assertEquals(describe(expected.getTopN(5)), describe(scoreboard.getTopN(5)));
+        assertSame(scoreboard.getSnapshot(), scoreboard.getSnapshot());
+    }
+
+    @Test
+    @DisplayName("Should merge sorted lists into the first games of their union")
+    void shouldMergeSortedListsIntoFirstGamesOfUnion() {
+        // Given
+        Game high = new Game(Country.of("Spain"), Country.of("France"), 3, 3);
+        Game middle = new Game(Country.of("Germany"), Country.of("Italy"), 2, 2);
+        Game low = new Game(Country.of("Brazil"), Country.of("Mexico"), 1, 0);
+
+        // When
+        List<Game> merged = PartitionedScoreboard.merge(List.of(List.of(middle, low), List.of(), List.of(high)), 2);
+
+        // Then
+        assertEquals(List.of(high, middle), merged);
+    }
+
+    @Test
+    @DisplayName("Should apply concurrent updates of different games without losing any")
+    void shouldApplyConcurrentUpdatesOfDifferentGames() throws Exception {
+        // Given
+        List<String> countries = TestFixtures.VALID_COUNTRIES;
+        for (int thread = 0; thread < THREADS; thread++) {
+            scoreboard.startGame(Country.of(countries.get(2 * thread)), Country.of(countries.get(2 * thread + 1)));
+        }
+
+        // When
+        runConcurrently(thread -> {
+            Country homeTeam = Country.of(countries.get(2 * thread));
+            Country awayTeam = Country.of(countries.get(2 * thread + 1));
+            for (int goals = 1; goals <= 1000; goals++) {
+                scoreboard.updateScore(homeTeam, awayTeam, goals, thread);
+            }
+        });
+
+        // Then
+        List<Game> summary = scoreboard.getGameSummary();
+        assertEquals(THREADS, summary.size());
+        summary.forEach(game -> assertEquals(1000, game.getHomeScore()));
+    }
+
+    @Test
+    @DisplayName("Should never show part of a batch in a summary")
+    void shouldNeverShowPartOfBatchInSummary() throws Exception {
+        // Given
+        List<Command> batch = new ArrayList<>();
+        for (int i = 0; i < 20; i += 2) {
+            batch.add(Command.create("start", TestFixtures.VALID_COUNTRIES.get(i), TestFixtures.VALID_COUNTRIES.get(i + 1)));
+        }
+        AtomicInteger partialSummaries = new AtomicInteger();
+
+        // When
+        runConcurrently(thread -> {
+            if (thread == 0) {
+                scoreboard.applyBatch(batch);
+                return;
+            }
+            for (int read = 0; read < 1000; read++) {
+                int size = scoreboard.getGameSummary().size();
+                if (size != 0 && size != batch.size()) {
+                    partialSummaries.incrementAndGet();
+                }
+            }
+        });
+
+        // Then
+        assertEquals(0, partialSummaries.get());
+        assertEquals(batch.size(), scoreboard.getGameSummary().size());
+    }
+
+    @Test
+    @DisplayName("Should rank events over all partitions for a subscriber that joins after the changes")
+    void shouldRankEventsForSubscriberJoiningAfterChanges() throws Exception {
+        // Given
+        List<String> countries = TestFixtures.VALID_COUNTRIES;
+        Flow.Subscription left = subscribe(new ArrayList<>(), new CountDownLatch(0));
+        left.cancel();
+        for (int game = 0; game < 8; game++) {
+            Country homeTeam = Country.of(countries.get(2 * game));
+            Country awayTeam = Country.of(countries.get(2 * game + 1));
+            scoreboard.startGame(homeTeam, awayTeam);
+            scoreboard.updateScore(homeTeam, awayTeam, game, 0);
+        }
+        List<ScoreboardEvent> events = new ArrayList<>();
+        CountDownLatch received = new CountDownLatch(1);
+        subscribe(events, received);
+
+        // When
+        scoreboard.updateScore(Country.of(countries.get(0)), Country.of(countries.get(1)), 10, 0);
+
+        // Then
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        assertEquals(8, events.getFirst().getPreviousRank());
+        assertEquals(1, events.getFirst().getRank());
+    }
+
+    @Test
+    @DisplayName("Should reject commands after close")
+    void shouldRejectCommandsAfterClose() {
+        // Given
+        scoreboard.close();
+
+        // When
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> scoreboard.startGame(Country.of("Spain"), Country.of("France")));
+
+        // Then
+        assertEquals("Scoreboard is closed", exception.getMessage());
+    }
+
+    private Flow.Subscription subscribe(List<ScoreboardEvent> events, CountDownLatch received) {
+        List<Flow.Subscription> subscription = new ArrayList<>();
+        scoreboard.events().subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription newSubscription) {
+                subscription.add(newSubscription);
+                newSubscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ScoreboardEvent event) {
+                events.add(event);
+                received.countDown();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        return subscription.getFirst();
+    }
+
+    private static List<String> describe(List<Game> games) {
+        return games.stream().map(Game::toString).toList();
+    }
+
+    private void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch ready = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int threadIndex = thread;
+                futures.add(executor.submit(() -> {
+                    ready.await();
+                    task.run(threadIndex);
+                    return null;
+                }));
+            }
+            ready.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int thread);
+    }
+}
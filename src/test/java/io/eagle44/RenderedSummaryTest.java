@@ -0,0 +1,43 @@
+package io.eagle44;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderedSummaryTest {
+    @Test
+    @DisplayName("Should render games in the same format as Game.toString")
+    void shouldRenderGamesLikeGameToString() {
+        // Given
+        Scoreboard scoreboard = new InMemoryScoreboard();
+        scoreboard.startGame(Country.of("Spain"), Country.of("France"));
+        scoreboard.startGame(Country.of("United States"), Country.of("Mexico"));
+        scoreboard.updateScore(Country.of("Spain"), Country.of("France"), 10, 2);
+        ScoreboardSnapshot snapshot = scoreboard.getSnapshot();
+
+        // When
+        RenderedSummary summary = RenderedSummary.of(snapshot);
+
+        // Then
+        String separator = System.lineSeparator();
+        String expected = "Game Summary:" + separator
+            + snapshot.getGames().get(0) + separator
+            + snapshot.getGames().get(1) + separator;
+        assertEquals(expected, summary.getText());
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), summary.getBytes());
+        assertEquals(snapshot.getVersion(), summary.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should render message when no games are in progress")
+    void shouldRenderMessageWhenNoGamesAreInProgress() {
+        // When
+        RenderedSummary summary = RenderedSummary.of(ScoreboardSnapshot.EMPTY);
+
+        // Then
+        assertEquals("No games in progress" + System.lineSeparator(), summary.getText());
+    }
+}
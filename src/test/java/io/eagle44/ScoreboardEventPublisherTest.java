@@ -0,0 +1,275 @@
+package io.eagle44;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreboardEventPublisherTest {
+    private static final List<String> RANKED_EVENTS = List.of(
+        "GAME_STARTED Germany 0 - 0 Italy -1 -> 1",
+        "SCORE_CHANGED Spain 1 - 0 France 2 -> 1",
+        "SCORE_CHANGED Germany 2 - 0 Italy 2 -> 1",
+        "GAME_FINISHED Spain 1 - 0 France 2 -> -1"
+    );
+
+    private InMemoryScoreboard scoreboard;
+
+    @BeforeEach
+    void setUp() {
+        scoreboard = new InMemoryScoreboard();
+    }
+
+    @Test
+    @DisplayName("Should publish started, changed and finished events with ranks")
+    void shouldPublishEventsWithRanks() throws Exception {
+        assertEquals(RANKED_EVENTS, playRankedGames(scoreboard));
+    }
+
+    @Test
+    @DisplayName("Should drop oldest events of subscriber that fell behind its buffer")
+    void shouldDropOldestEventsOfSlowSubscriber() throws Exception {
+        // Given
+        scoreboard.startGame(Country.of("Spain"), Country.of("France"));
+        RecordingSubscriber subscriber = new RecordingSubscriber(3, 0);
+        scoreboard.events().subscribe(subscriber, 3, ScoreboardEventPublisher.OverflowPolicy.DROP_OLDEST);
+
+        // When
+        for (int goals = 1; goals <= 10; goals++) {
+            scoreboard.updateScore(Country.of("Spain"), Country.of("France"), goals, 0);
+        }
+        subscriber.request(Long.MAX_VALUE);
+
+        // Then
+        subscriber.await();
+        assertEquals(List.of(8, 9, 10),
+            subscriber.events.stream().map(event -> event.getGame().getHomeScore()).toList());
+    }
+
+    @Test
+    @DisplayName("Should conflate pending events to the latest per match for slow subscriber")
+    void shouldConflatePendingEventsPerMatch() throws Exception {
+        // Given
+        scoreboard.startGame(Country.of("Spain"), Country.of("France"));
+        scoreboard.startGame(Country.of("Germany"), Country.of("Italy"));
+        RecordingSubscriber subscriber = new RecordingSubscriber(2, 0);
+        scoreboard.events().subscribe(subscriber, 2, ScoreboardEventPublisher.OverflowPolicy.CONFLATE);
+
+        // When
+        for (int goals = 1; goals <= 5; goals++) {
+            scoreboard.updateScore(Country.of("Spain"), Country.of("France"), goals, 0);
+            scoreboard.updateScore(Country.of("Germany"), Country.of("Italy"), 0, goals);
+        }
+        subscriber.request(Long.MAX_VALUE);
+
+        // Then
+        subscriber.await();
+        assertEquals(List.of("Spain 5 - 0 France", "Germany 0 - 5 Italy"),
+            subscriber.events.stream().map(event -> event.getGame().toString()).toList());
+    }
+
+    @Test
+    @DisplayName("Should tell conflating subscriber that events were lost beyond the ring")
+    void shouldReportLostEventsInsteadOfPartialConflation() throws Exception {
+        // Given
+        scoreboard.startGame(Country.of("Spain"), Country.of("France"));
+        scoreboard.startGame(Country.of("Germany"), Country.of("Italy"));
+        RecordingSubscriber subscriber = new RecordingSubscriber(2, 0);
+        scoreboard.events().subscribe(subscriber, 2, ScoreboardEventPublisher.OverflowPolicy.CONFLATE);
+
+        // When
+        scoreboard.finishGame(Country.of("Spain"), Country.of("France"));
+        for (int goals = 1; goals <= 5_000; goals++) {
+            scoreboard.updateScore(Country.of("Germany"), Country.of("Italy"), 0, goals);
+        }
+        subscriber.request(1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (subscriber.events.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        scoreboard.updateScore(Country.of("Germany"), Country.of("Italy"), 1, 0);
+        subscriber.request(1);
+
+        // Then
+        subscriber.await();
+        assertEquals(List.of("EVENTS_LOST", "SCORE_CHANGED Germany 1 - 0 Italy"),
+            subscriber.events.stream().map(ScoreboardEvent::toString).toList());
+        assertNull(subscriber.events.getFirst().getGame());
+    }
+
+    @Test
+    @DisplayName("Should stop delivering events after cancel")
+    void shouldStopDeliveringEventsAfterCancel() {
+        // Given
+        RecordingSubscriber subscriber = new RecordingSubscriber(1, Long.MAX_VALUE);
+        scoreboard.events().subscribe(subscriber);
+
+        // When
+        subscriber.subscription.cancel();
+        scoreboard.startGame(Country.of("Spain"), Country.of("France"));
+
+        // Then
+        assertFalse(scoreboard.events().hasSubscribers());
+        assertTrue(subscriber.events.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should publish events with ranks from concurrent and partitioned scoreboards")
+    void shouldPublishEventsWithRanksFromConcurrentScoreboards() throws Exception {
+        assertEquals(RANKED_EVENTS, playRankedGames(new ConcurrentScoreboard()));
+        try (PartitionedScoreboard partitioned = new PartitionedScoreboard(3)) {
+            assertEquals(RANKED_EVENTS, playRankedGames(partitioned));
+        }
+    }
+
+    @Test
+    @DisplayName("Should rank an event read late among the other matches as of the read")
+    void shouldRankEventReadLateAmongOtherMatches() throws Exception {
+        // Given
+        ConcurrentScoreboard concurrent = new ConcurrentScoreboard();
+        concurrent.startGame(Country.of("Spain"), Country.of("France"));
+        concurrent.startGame(Country.of("Germany"), Country.of("Italy"));
+        concurrent.updateScore(Country.of("Germany"), Country.of("Italy"), 1, 0);
+        RecordingSubscriber subscriber = new RecordingSubscriber(2, Long.MAX_VALUE);
+        concurrent.events().subscribe(subscriber);
+
+        // When
+        concurrent.updateScore(Country.of("Spain"), Country.of("France"), 2, 0);
+        concurrent.updateScore(Country.of("Spain"), Country.of("France"), 3, 0);
+
+        // Then
+        subscriber.await();
+        assertEquals(List.of(
+            "SCORE_CHANGED Spain 2 - 0 France 2 -> 1",
+            "SCORE_CHANGED Spain 3 - 0 France 1 -> 1"
+        ), subscriber.describeEvents());
+    }
+
+    @Test
+    @DisplayName("Should publish racing changes of one match in the order they were made")
+    void shouldPublishRacingChangesOfOneMatchInOrder() throws Exception {
+        // Given
+        ConcurrentScoreboard concurrent = new ConcurrentScoreboard();
+        concurrent.startGame(Country.of("Spain"), Country.of("France"));
+        int writers = 4;
+        int updatesPerWriter = 500;
+        RecordingSubscriber subscriber = new RecordingSubscriber(writers * updatesPerWriter, Long.MAX_VALUE);
+        concurrent.events().subscribe(subscriber, 4096, ScoreboardEventPublisher.OverflowPolicy.DROP_OLDEST);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int writer = 0; writer < writers; writer++) {
+            int homeScore = writer;
+            threads.add(Thread.ofPlatform().start(() -> {
+                awaitQuietly(start);
+                for (int update = 0; update < updatesPerWriter; update++) {
+                    concurrent.updateScore(Country.of("Spain"), Country.of("France"), homeScore, update);
+                }
+            }));
+        }
+
+        // When
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        subscriber.await();
+        assertEquals(concurrent.getGameSummary().getFirst().toString(),
+            subscriber.events.getLast().getGame().toString());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<String> playRankedGames(Scoreboard scoreboard) throws InterruptedException {
+        // Given
+        scoreboard.startGame(Country.of("Spain"), Country.of("France"));
+        RecordingSubscriber subscriber = new RecordingSubscriber(4, Long.MAX_VALUE);
+        scoreboard.events().subscribe(subscriber);
+
+        // When: each event is ranked before the next change, as events may be ranked when read
+        scoreboard.startGame(Country.of("Germany"), Country.of("Italy"));
+        subscriber.awaitRanked(1);
+        scoreboard.updateScore(Country.of("Spain"), Country.of("France"), 1, 0);
+        subscriber.awaitRanked(2);
+        scoreboard.updateScore(Country.of("Germany"), Country.of("Italy"), 2, 0);
+        subscriber.awaitRanked(3);
+        scoreboard.finishGame(Country.of("Spain"), Country.of("France"));
+
+        // Then
+        subscriber.await();
+        return subscriber.describeEvents();
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<ScoreboardEvent> {
+        private final List<ScoreboardEvent> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch received;
+        private final long initialRequest;
+        private Flow.Subscription subscription;
+
+        RecordingSubscriber(int expectedEvents, long initialRequest) {
+            this.received = new CountDownLatch(expectedEvents);
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(ScoreboardEvent event) {
+            events.add(event);
+            received.countDown();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        void request(long n) {
+            subscription.request(n);
+        }
+
+        void await() throws InterruptedException {
+            assertTrue(received.await(5, TimeUnit.SECONDS), "Expected events were not delivered");
+        }
+
+        // Waits for the count-th event and reads its ranks, which keeps them from then on
+        void awaitRanked(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (events.size() < count) {
+                assertTrue(System.nanoTime() < deadline, "Expected events were not delivered");
+                Thread.sleep(1);
+            }
+            events.get(count - 1).getRank();
+        }
+
+        List<String> describeEvents() {
+            return events.stream()
+                .map(event -> event + " " + event.getPreviousRank() + " -> " + event.getRank())
+                .toList();
+        }
+    }
+}
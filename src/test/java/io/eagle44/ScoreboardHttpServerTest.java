@@ -0,0 +1,281 @@
+package io.eagle44;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreboardHttpServerTest {
+    private ConcurrentScoreboard scoreboard;
+    private ScoreboardHttpServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        scoreboard = new ConcurrentScoreboard();
+        server = ScoreboardHttpServer.start(scoreboard, new InetSocketAddress("localhost", 0));
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Should start, update and finish games over HTTP")
+    void shouldStartUpdateAndFinishGamesOverHttp() throws Exception {
+        // When
+        HttpResponse<String> started = post("/start", "home=Spain&away=France");
+        HttpResponse<String> updated = post("/update", "home=Spain&away=France&homeScore=2&awayScore=1");
+        post("/start", "home=United+States&away=Mexico");
+        HttpResponse<String> finished = post("/finish", "home=United%20States&away=Mexico");
+
+        // Then
+        assertEquals(200, started.statusCode());
+        assertEquals("Game started: Spain 0 - 0 France", started.body().trim());
+        assertEquals("Score updated: Spain 2 - 1 France", updated.body().trim());
+        assertEquals("Game finished: United States vs Mexico", finished.body().trim());
+        assertEquals("Game Summary:" + System.lineSeparator() + "Spain 2 - 1 France",
+            get("/summary", null).body().trim());
+    }
+
+    @Test
+    @DisplayName("Should answer invalid command with bad request")
+    void shouldAnswerInvalidCommandWithBadRequest() throws Exception {
+        // When
+        HttpResponse<String> unknownCountry = post("/start", "home=Atlantis&away=France");
+        HttpResponse<String> missingGame = post("/update", "home=Spain&away=France&homeScore=1&awayScore=0");
+        HttpResponse<String> missingScore = post("/update", "home=Spain&away=France&homeScore=1");
+
+        // Then
+        assertEquals(400, unknownCountry.statusCode());
+        assertEquals("Error: Invalid country name: Atlantis", unknownCountry.body().trim());
+        assertEquals(400, missingGame.statusCode());
+        assertEquals("Error: Game not found", missingGame.body().trim());
+        assertEquals("Error: Missing parameter: awayScore", missingScore.body().trim());
+    }
+
+    @Test
+    @DisplayName("Should answer unchanged summary with not modified")
+    void shouldAnswerUnchangedSummaryWithNotModified() throws Exception {
+        // Given
+        post("/start", "home=Spain&away=France");
+        HttpResponse<String> first = get("/summary", null);
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+
+        // When
+        HttpResponse<String> unchanged = get("/summary", etag);
+        post("/update", "home=Spain&away=France&homeScore=1&awayScore=0");
+        HttpResponse<String> changed = get("/summary", etag);
+
+        // Then
+        assertEquals(304, unchanged.statusCode());
+        assertTrue(unchanged.body().isEmpty());
+        assertEquals(200, changed.statusCode());
+        assertNotEquals(etag, changed.headers().firstValue("ETag").orElseThrow());
+        assertTrue(changed.body().contains("Spain 1 - 0 France"));
+    }
+
+    @Test
+    @DisplayName("Should reject wrong method and unknown path")
+    void shouldRejectWrongMethodAndUnknownPath() throws Exception {
+        // When
+        HttpResponse<String> getStart = get("/start", null);
+        HttpResponse<String> postSummary = post("/summary", "");
+        HttpResponse<String> unknown = get("/summary/all", null);
+
+        // Then
+        assertEquals(405, getStart.statusCode());
+        assertEquals(405, postSummary.statusCode());
+        assertEquals(404, unknown.statusCode());
+    }
+
+    @Test
+    @DisplayName("Should serve metrics of metered scoreboard only")
+    void shouldServeMetricsOfMeteredScoreboardOnly() throws Exception {
+        // Given
+        MeteredScoreboard metered = new MeteredScoreboard(new ConcurrentScoreboard(), new ScoreboardMetrics());
+        try (ScoreboardHttpServer meteredServer =
+                 ScoreboardHttpServer.start(metered, new InetSocketAddress("localhost", 0))) {
+            URI base = URI.create("http://localhost:" + meteredServer.getPort());
+            client.send(HttpRequest.newBuilder(base.resolve("/start"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("home=Spain&away=France")).build(),
+                HttpResponse.BodyHandlers.discarding());
+
+            // When
+            HttpResponse<String> metrics = client.send(HttpRequest.newBuilder(base.resolve("/metrics")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+            // Then
+            assertEquals(200, metrics.statusCode());
+            assertTrue(metrics.body().contains("scoreboard_operations_total{operation=\"start\",outcome=\"success\"} 1"));
+            assertTrue(metrics.body().contains("scoreboard_live_games 1"));
+        }
+        assertEquals(404, get("/metrics", null).statusCode());
+    }
+
+    @Test
+    @DisplayName("Should serve today's and one country's results from the archive")
+    void shouldServeResultsFromArchive() throws Exception {
+        // Given
+        GameArchive archive = new GameArchive();
+        try (ScoreboardHttpServer archivingServer = ScoreboardHttpServer.start(new ConcurrentScoreboard(archive),
+                 archive, new InetSocketAddress("localhost", 0))) {
+            URI base = URI.create("http://localhost:" + archivingServer.getPort());
+            for (String form : List.of("home=Spain&away=France", "home=Germany&away=Italy")) {
+                for (String path : List.of("/start", "/finish")) {
+                    client.send(HttpRequest.newBuilder(base.resolve(path))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(form)).build(),
+                        HttpResponse.BodyHandlers.discarding());
+                }
+            }
+
+            // When
+            HttpResponse<String> today = client.send(HttpRequest.newBuilder(base.resolve("/results")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> italy = client.send(
+                HttpRequest.newBuilder(base.resolve("/results?country=Italy")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> atlantis = client.send(
+                HttpRequest.newBuilder(base.resolve("/results?country=Atlantis")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+            // Then
+            assertEquals(200, today.statusCode());
+            assertEquals(String.join(System.lineSeparator(), "Results:", "Spain 0 - 0 France", "Germany 0 - 0 Italy"),
+                today.body().trim());
+            assertEquals("Results:" + System.lineSeparator() + "Germany 0 - 0 Italy", italy.body().trim());
+            assertEquals(400, atlantis.statusCode());
+        }
+        assertEquals(404, get("/results", null).statusCode());
+    }
+
+    @Test
+    @DisplayName("Should stream summary and then changes as server-sent events")
+    void shouldStreamSummaryAndChangesAsServerSentEvents() throws Exception {
+        // Given
+        post("/start", "home=Spain&away=France");
+        HttpRequest request = HttpRequest.newBuilder(uri("/events")).GET().build();
+        HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+        Iterator<String> lines = response.body().iterator();
+
+        // When
+        List<String> summary = nextEvent(lines);
+        post("/update", "home=Spain&away=France&homeScore=1&awayScore=0");
+        post("/finish", "home=Spain&away=France");
+
+        // Then
+        assertEquals("text/event-stream; charset=utf-8", response.headers().firstValue("Content-Type").orElseThrow());
+        assertEquals(List.of("event: summary",
+            "data: [{\"home\":\"Spain\",\"away\":\"France\",\"homeScore\":0,\"awayScore\":0,\"rank\":1}]"), summary);
+        assertEquals(List.of("event: score",
+            "data: {\"home\":\"Spain\",\"away\":\"France\",\"homeScore\":1,\"awayScore\":0,\"rank\":1,"
+                + "\"previousRank\":1}"), nextEvent(lines));
+        assertEquals(List.of("event: finished",
+            "data: {\"home\":\"Spain\",\"away\":\"France\",\"homeScore\":1,\"awayScore\":0,"
+                + "\"previousRank\":1}"), nextEvent(lines));
+        response.body().close();
+    }
+
+    @Test
+    @DisplayName("Should stream a summary no older than the scoreboard when subscribing")
+    void shouldStreamSummaryNoOlderThanScoreboardWhenSubscribing() throws Exception {
+        // Given
+        Country spain = Country.of("Spain");
+        Country france = Country.of("France");
+        scoreboard.startGame(spain, france);
+        AtomicBoolean stopped = new AtomicBoolean();
+        // Every update scores a goal, so the home score is the version of the scoreboard minus one
+        Thread writer = Thread.ofPlatform().start(() -> {
+            for (int goals = 1; !stopped.get(); goals++) {
+                scoreboard.updateScore(spain, france, goals, 0);
+            }
+        });
+        try {
+            Thread.sleep(20);
+            long versionBeforeSubscribing = scoreboard.getSnapshot().getVersion();
+            HttpRequest request = HttpRequest.newBuilder(uri("/events")).GET().build();
+
+            // When
+            HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+            List<String> summary = nextEvent(response.body().iterator());
+            response.body().close();
+
+            // Then
+            String data = summary.get(1);
+            int scoreStart = data.indexOf("\"homeScore\":") + "\"homeScore\":".length();
+            long homeScore = Long.parseLong(data.substring(scoreStart, data.indexOf(',', scoreStart)));
+            assertTrue(homeScore + 1 >= versionBeforeSubscribing,
+                "Summary at version " + (homeScore + 1) + " is older than " + versionBeforeSubscribing);
+        } finally {
+            stopped.set(true);
+            writer.join();
+        }
+    }
+
+    @Test
+    @DisplayName("Should encode each event once for all streams")
+    void shouldEncodeEachEventOnceForAllStreams() {
+        // Given
+        ScoreboardEvent event = new ScoreboardEvent(ScoreboardEvent.Type.GAME_STARTED,
+            Game.start(Country.of("Spain"), Country.of("France")), ScoreboardEvent.NO_RANK, 1, 0);
+
+        // When
+        byte[] first = event.toServerSentEvent();
+        byte[] second = event.toServerSentEvent();
+
+        // Then
+        assertSame(first, second);
+    }
+
+    private static List<String> nextEvent(Iterator<String> lines) {
+        List<String> event = new ArrayList<>();
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (line.isEmpty()) {
+                if (!event.isEmpty()) {
+                    return event;
+                }
+            } else if (!line.startsWith(":")) {
+                event.add(line);
+            }
+        }
+        return event;
+    }
+
+    private HttpResponse<String> get(String path, String etag) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path)).GET();
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String form) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(path))
+            .header("Content-Type", "application/x-www-form-urlencoded")
+            .POST(HttpRequest.BodyPublishers.ofString(form))
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+}
@@ -0,0 +1,100 @@
+package io.eagle44;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreboardRegistryTest {
+    private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(10);
+    private static final Country SPAIN = Country.of("Spain");
+    private static final Country FRANCE = Country.of("France");
+
+    private AtomicLong clock;
+    private ScoreboardRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        registry = new ScoreboardRegistry(InMemoryScoreboard::new, IDLE_TIMEOUT, clock::get);
+    }
+
+    @Test
+    @DisplayName("Should create competitions lazily with isolated state")
+    void shouldCreateCompetitionsLazilyWithIsolatedState() {
+        // Given
+        assertFalse(registry.contains("euro"));
+
+        // When
+        Scoreboard euro = registry.get("euro");
+        Scoreboard copa = registry.get("copa");
+        euro.startGame(SPAIN, FRANCE);
+
+        // Then
+        assertEquals(2, registry.size());
+        assertEquals(1, registry.getGameCount());
+        assertSame(euro, registry.get("euro"));
+        assertTrue(euro.hasGame(SPAIN, FRANCE));
+        assertFalse(copa.hasGame(SPAIN, FRANCE));
+    }
+
+    @Test
+    @DisplayName("Should evict only idle competitions without live games")
+    void shouldEvictOnlyIdleCompetitionsWithoutLiveGames() {
+        // Given
+        registry.get("empty");
+        registry.get("live").startGame(SPAIN, FRANCE);
+        registry.register("pinned", new InMemoryScoreboard());
+        clock.addAndGet(IDLE_TIMEOUT.toNanos() / 2);
+        registry.get("recent");
+        clock.addAndGet(IDLE_TIMEOUT.toNanos() / 2 + 1);
+
+        // When
+        int evicted = registry.evictIdle();
+
+        // Then
+        assertEquals(1, evicted);
+        assertFalse(registry.contains("empty"));
+        assertTrue(registry.contains("live"));
+        assertTrue(registry.contains("pinned"));
+        assertTrue(registry.contains("recent"));
+    }
+
+    @Test
+    @DisplayName("Should evict idle competitions on a lookup once the idle timeout passed")
+    void shouldEvictIdleCompetitionsOnLookup() {
+        // Given
+        Scoreboard first = registry.get("euro");
+        clock.addAndGet(IDLE_TIMEOUT.toNanos() + 1);
+
+        // When
+        registry.get("copa");
+
+        // Then
+        assertFalse(registry.contains("euro"));
+        assertNotSame(first, registry.get("euro"));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid and duplicate competition ids")
+    void shouldRejectInvalidAndDuplicateCompetitionIds() {
+        // Given
+        registry.get("euro");
+
+        // When
+        IllegalArgumentException empty = assertThrows(IllegalArgumentException.class, () -> registry.get(""));
+        IllegalArgumentException blank = assertThrows(IllegalArgumentException.class, () -> registry.get("world cup"));
+        IllegalArgumentException duplicate = assertThrows(IllegalArgumentException.class,
+            () -> registry.register("euro", new InMemoryScoreboard()));
+
+        // Then
+        assertEquals("Competition id cannot be empty", empty.getMessage());
+        assertEquals("Invalid competition id: world cup", blank.getMessage());
+        assertEquals("Competition already exists: euro", duplicate.getMessage());
+        assertEquals(1, registry.size());
+    }
+}
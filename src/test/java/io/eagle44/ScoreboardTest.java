@@ -33,7 +33,7 @@ class ScoreboardTest {
 
     @BeforeEach
     void setUp() {
-        scoreboard = new Scoreboard();
+        scoreboard = new InMemoryScoreboard();
     }
 
     @Test
@@ -108,6 +108,172 @@ class ScoreboardTest {
         assertEquals(1, game.getAwayScore());
     }
 
+    @Test
+    @DisplayName("Should order summary by total score and then by most recently started")
+    void shouldOrderSummaryByTotalScoreAndRecency() {
+        // Given
+        scoreboard.startGame(Country.of("Mexico"), Country.of("Canada"));
+        scoreboard.startGame(Country.of("Spain"), Country.of("Brazil"));
+        scoreboard.startGame(Country.of("Germany"), Country.of("France"));
+        scoreboard.startGame(Country.of("Uruguay"), Country.of("Italy"));
+        scoreboard.updateScore(Country.of("Mexico"), Country.of("Canada"), 0, 5);
+        scoreboard.updateScore(Country.of("Spain"), Country.of("Brazil"), 10, 2);
+        scoreboard.updateScore(Country.of("Germany"), Country.of("France"), 2, 2);
+        scoreboard.updateScore(Country.of("Uruguay"), Country.of("Italy"), 6, 6);
+
+        // When
+        List<Game> summary = scoreboard.getGameSummary();
+
+        // Then
+        assertEquals(List.of("Uruguay", "Spain", "Mexico", "Germany"),
+            summary.stream().map(game -> game.getHomeTeam().getName()).toList());
+    }
+
+    @Test
+    @DisplayName("Should return only the requested number of top games")
+    void shouldReturnTopNGames() {
+        // Given
+        scoreboard.startGame(Country.of("Mexico"), Country.of("Canada"));
+        scoreboard.startGame(Country.of("Spain"), Country.of("Brazil"));
+        scoreboard.startGame(Country.of("Germany"), Country.of("France"));
+        scoreboard.updateScore(Country.of("Spain"), Country.of("Brazil"), 1, 0);
+
+        // When
+        List<Game> topGames = scoreboard.getTopN(2);
+
+        // Then
+        assertEquals(2, topGames.size());
+        assertEquals(Country.of("Spain"), topGames.get(0).getHomeTeam());
+        assertEquals(Country.of("Germany"), topGames.get(1).getHomeTeam());
+        assertEquals(3, scoreboard.getTopN(10).size());
+    }
+
+    @Test
+    @DisplayName("Should remove finished game from summary")
+    void shouldRemoveFinishedGameFromSummary() {
+        // Given
+        scoreboard.startGame(Country.of("Mexico"), Country.of("Canada"));
+        scoreboard.startGame(Country.of("Spain"), Country.of("Brazil"));
+        scoreboard.updateScore(Country.of("Mexico"), Country.of("Canada"), 1, 1);
+
+        // When
+        scoreboard.finishGame(Country.of("Mexico"), Country.of("Canada"));
+
+        // Then
+        List<Game> summary = scoreboard.getGameSummary();
+        assertEquals(1, summary.size());
+        assertEquals(Country.of("Spain"), summary.getFirst().getHomeTeam());
+    }
+
+    @Test
+    @DisplayName("Should reuse summary snapshot until scoreboard changes")
+    void shouldReuseSummarySnapshotUntilScoreboardChanges() {
+        // Given
+        scoreboard.startGame(Country.of(TestFixtures.SAMPLE_HOME_TEAM), Country.of(TestFixtures.SAMPLE_AWAY_TEAM));
+        ScoreboardSnapshot first = scoreboard.getSnapshot();
+
+        // When
+        ScoreboardSnapshot unchanged = scoreboard.getSnapshot();
+        scoreboard.updateScore(Country.of(TestFixtures.SAMPLE_HOME_TEAM), Country.of(TestFixtures.SAMPLE_AWAY_TEAM), 1, 0);
+        ScoreboardSnapshot changed = scoreboard.getSnapshot();
+
+        // Then
+        assertSame(first, unchanged);
+        assertTrue(changed.isNewerThan(first.getVersion()));
+        assertEquals(0, first.getGames().getFirst().getHomeScore());
+        assertEquals(1, changed.getGames().getFirst().getHomeScore());
+    }
+
+    @Test
+    @DisplayName("Should address the same game regardless of country name case")
+    void shouldAddressSameGameRegardlessOfCountryNameCase() {
+        // Given
+        scoreboard.startGame(Country.of("Spain"), Country.of("France"));
+
+        // When
+        scoreboard.updateScore(Country.of("SPAIN"), Country.of("france"), 1, 0);
+
+        // Then
+        assertTrue(scoreboard.hasGame(Country.of("spain"), Country.of("FRANCE")));
+        assertEquals(1, scoreboard.getGameSummary().getFirst().getHomeScore());
+        assertThrows(IllegalArgumentException.class,
+            () -> scoreboard.startGame(Country.of("spain"), Country.of("France")));
+    }
+
+    @Test
+    @DisplayName("Should apply batch and report a result per command")
+    void shouldApplyBatchAndReportResultPerCommand() {
+        // Given
+        scoreboard.startGame(Country.of("Mexico"), Country.of("Canada"));
+        List<Command> batch = List.of(
+            Command.create("start", "Spain", "France"),
+            Command.create("update", "Spain", "France", "1", "0"),
+            Command.create("update", "Germany", "Italy", "1", "0"),
+            Command.create("start", "Atlantis", "France"),
+            Command.create("finish", "Mexico", "Canada"),
+            Command.create("update", "Spain", "France", "-1", "0"),
+            Command.create("summary")
+        );
+
+        // When
+        List<CommandResult> results = scoreboard.applyBatch(batch);
+
+        // Then
+        assertEquals(List.of(true, true, false, false, true, false, false),
+            results.stream().map(CommandResult::isSuccessful).toList());
+        assertEquals("Game not found", results.get(2).getMessage());
+        assertEquals("Score cannot be negative", results.get(5).getMessage());
+        assertSame(batch.get(3), results.get(3).getCommand());
+        List<Game> summary = scoreboard.getGameSummary();
+        assertEquals(1, summary.size());
+        assertEquals(1, summary.getFirst().getHomeScore());
+    }
+
+    @Test
+    @DisplayName("Should reject queries in a batch and apply the rest")
+    void shouldRejectQueriesInBatch() {
+        // Given
+        List<Command> batch = List.of(
+            Command.create("results"),
+            Command.create("start", "Spain", "France"),
+            Command.create("results", "Brazil"),
+            Command.create("metrics")
+        );
+
+        // When
+        List<CommandResult> results = scoreboard.applyBatch(batch);
+
+        // Then
+        assertEquals(List.of(false, true, false, false),
+            results.stream().map(CommandResult::isSuccessful).toList());
+        assertEquals("Results cannot be part of a batch", results.get(0).getMessage());
+        assertEquals("Results cannot be part of a batch", results.get(2).getMessage());
+        assertEquals("Metrics cannot be part of a batch", results.get(3).getMessage());
+        assertEquals(1, scoreboard.getGameCount());
+    }
+
+    @Test
+    @DisplayName("Should merge repeated updates of the same game in a batch")
+    void shouldMergeRepeatedUpdatesInBatch() {
+        // Given
+        scoreboard.startGame(Country.of("Spain"), Country.of("France"));
+        long versionBefore = scoreboard.getSnapshot().getVersion();
+
+        // When
+        List<CommandResult> results = scoreboard.applyBatch(List.of(
+            Command.create("update", "Spain", "France", "1", "0"),
+            Command.create("update", "Spain", "France", "2", "0"),
+            Command.create("update", "Spain", "France", "2", "1")
+        ));
+
+        // Then
+        assertTrue(results.stream().allMatch(CommandResult::isSuccessful));
+        assertEquals("Score updated: Spain 2 - 0 France", results.get(1).getMessage());
+        ScoreboardSnapshot snapshot = scoreboard.getSnapshot();
+        assertEquals(versionBefore + 1, snapshot.getVersion());
+        assertEquals(3, snapshot.getGames().getFirst().getTotalScore());
+    }
+
     @Test
     @DisplayName("Should throw exception when starting duplicate game")
     void shouldThrowExceptionWhenStartingDuplicateGame() {
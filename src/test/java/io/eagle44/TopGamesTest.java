@@ -0,0 +1,46 @@
+package io.eagle44;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopGamesTest {
+
+    @Test
+    @DisplayName("Should select the same games as a full sort")
+    void shouldSelectSameGamesAsFullSort() {
+        // Given
+        Random random = new Random(25);
+        List<Game> games = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Game game = Game.start(Country.ofOrdinal(i % 100), Country.ofOrdinal(100 + i % 50));
+            games.add(game.updateScore(random.nextInt(5), random.nextInt(5)));
+        }
+        Collections.shuffle(games, random);
+        List<Game> sorted = new ArrayList<>(games);
+        sorted.sort(Game.SUMMARY_ORDER);
+
+        for (int limit : new int[]{0, 1, 10, 17, 499, 500, 1000}) {
+            // When
+            TopGames topGames = new TopGames(limit);
+            games.forEach(topGames::offer);
+
+            // Then
+            assertEquals(sorted.subList(0, Math.min(limit, sorted.size())), topGames.toList(), "limit " + limit);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject negative limit")
+    void shouldRejectNegativeLimit() {
+        // When/Then
+        assertEquals("Number of games cannot be negative", assertThrows(IllegalArgumentException.class,
+            () -> new TopGames(-1)).getMessage());
+    }
+}